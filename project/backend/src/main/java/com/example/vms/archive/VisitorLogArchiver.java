@@ -0,0 +1,81 @@
+package com.example.vms.archive;
+
+import com.example.vms.model.VisitorLogStatus;
+import com.example.vms.repository.ArchivedVisitorLogRepository;
+import com.example.vms.repository.VisitorLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves closed visitor logs whose check-in is older than the retention
+ * horizon from visitor_logs into visitor_logs_archive, one batch per
+ * transaction so the hot table is never locked for long. Once a month's
+ * partition is drained, VisitorLogPartitionMaintainer drops it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "archive.enabled", havingValue = "true", matchIfMissing = true)
+public class VisitorLogArchiver {
+    private static final List<VisitorLogStatus> CLOSED = Arrays.stream(VisitorLogStatus.values())
+        .filter(VisitorLogStatus::isClosed)
+        .toList();
+
+    private final VisitorLogRepository visitorLogRepository;
+    private final ArchivedVisitorLogRepository archivedVisitorLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration horizon;
+    private final int batchSize;
+
+    public VisitorLogArchiver(VisitorLogRepository visitorLogRepository,
+                              ArchivedVisitorLogRepository archivedVisitorLogRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${archive.horizon:90d}") Duration horizon,
+                              @Value("${archive.batch-size:1000}") int batchSize) {
+        this.visitorLogRepository = visitorLogRepository;
+        this.archivedVisitorLogRepository = archivedVisitorLogRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+    }
+
+    public Instant cutoff() {
+        return Instant.now().minus(horizon);
+    }
+
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}")
+    public int archive() {
+        Instant cutoff = cutoff();
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += moved;
+        } while (moved == batchSize);
+        if (total > 0) {
+            log.info("Archived {} visitor logs checked in before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveBatch(Instant cutoff) {
+        List<UUID> ids = visitorLogRepository.findIdsForArchival(CLOSED, cutoff, PageRequest.ofSize(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedVisitorLogRepository.copyFromHot(ids, Instant.now());
+        visitorLogRepository.deleteByIdIn(ids);
+        return ids.size();
+    }
+}
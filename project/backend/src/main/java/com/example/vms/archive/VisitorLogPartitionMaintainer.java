@@ -0,0 +1,115 @@
+package com.example.vms.archive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Keeps one visitor_logs partition per month of check_in_time: creates
+ * partitions ahead of time by splitting p_future, and drops old partitions
+ * once archiving has emptied them. MySQL only; V5 sets up the scheme.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "archive.partitions.enabled", havingValue = "true", matchIfMissing = true)
+public class VisitorLogPartitionMaintainer {
+    private static final String TABLE = "visitor_logs";
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final Duration horizon;
+
+    public VisitorLogPartitionMaintainer(JdbcTemplate jdbcTemplate,
+                                         @Value("${archive.partitions.months-ahead:3}") int monthsAhead,
+                                         @Value("${archive.horizon:90d}") Duration horizon) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.horizon = horizon;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${archive.partitions.cron:0 0 3 * * *}")
+    public void maintain() {
+        List<Partition> partitions = partitions();
+        if (partitions.isEmpty()) {
+            log.warn("{} is not partitioned; skipping partition maintenance", TABLE);
+            return;
+        }
+        createAhead(partitions);
+        dropDrained(partitions);
+    }
+
+    private void createAhead(List<Partition> partitions) {
+        LocalDate highest = partitions.stream()
+            .filter(partition -> partition.upperBound() != null)
+            .map(Partition::upperBound)
+            .max(LocalDate::compareTo)
+            .orElse(YearMonth.now(ZoneOffset.UTC).atDay(1));
+        YearMonth last = YearMonth.now(ZoneOffset.UTC).plusMonths(monthsAhead);
+
+        StringJoiner split = new StringJoiner(", ");
+        for (YearMonth month = YearMonth.from(highest); !month.isAfter(last); month = month.plusMonths(1)) {
+            split.add("PARTITION " + month.format(PARTITION_NAME) +
+                " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+        if (split.length() == 0) {
+            return;
+        }
+        split.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION +
+            " INTO (" + split + ")");
+        log.info("Created {} partitions up to {}", TABLE, last);
+    }
+
+    // Open logs never get archived, so a partition can only be dropped once it is empty
+    private void dropDrained(List<Partition> partitions) {
+        LocalDate cutoff = LocalDate.ofInstant(Instant.now().minus(horizon), ZoneOffset.UTC);
+        for (Partition partition : partitions) {
+            if (partition.upperBound() == null || partition.upperBound().isAfter(cutoff)) {
+                continue;
+            }
+            Boolean hasRows = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM " + TABLE + " PARTITION (" + partition.name() + "))", Boolean.class);
+            if (Boolean.FALSE.equals(hasRows)) {
+                jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partition.name());
+                log.info("Dropped drained partition {}.{}", TABLE, partition.name());
+            }
+        }
+    }
+
+    private List<Partition> partitions() {
+        return jdbcTemplate.query(
+            "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION",
+            (rs, rowNum) -> new Partition(rs.getString(1), upperBoundOf(rs.getString(2))),
+            TABLE);
+    }
+
+    // PARTITION_DESCRIPTION is '2026-11-01 00:00:00' (quoted) or MAXVALUE
+    private static LocalDate upperBoundOf(String description) {
+        if (description == null || description.equalsIgnoreCase("MAXVALUE")) {
+            return null;
+        }
+        return LocalDate.parse(description.replace("'", "").substring(0, 10));
+    }
+
+    private record Partition(String name, LocalDate upperBound) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.vms.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+public class MetricsConfig {
+
+    // Backs the class-level @Timed on the services
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Waiters on the connection limiter. With virtual threads requests queue
+     * here before Hikari sees them, so this is where pool saturation shows
+     * first; the hikaricp.* meters cover the pool itself.
+     */
+    @Bean
+    public MeterBinder connectionLimiterMetrics(ObjectProvider<DataSource> dataSource) {
+        return registry -> {
+            ConcurrencyLimitingDataSource limiter = unwrapLimiter(dataSource.getIfAvailable());
+            if (limiter == null) {
+                return;
+            }
+            Gauge.builder("vms.db.limiter.available", limiter, ConcurrencyLimitingDataSource::availablePermits)
+                .description("Connection permits currently free")
+                .register(registry);
+            Gauge.builder("vms.db.limiter.waiting", limiter, ConcurrencyLimitingDataSource::queueLength)
+                .description("Threads waiting for a connection permit")
+                .register(registry);
+        };
+    }
+
+    private static ConcurrencyLimitingDataSource unwrapLimiter(DataSource dataSource) {
+        if (dataSource instanceof ConcurrencyLimitingDataSource limiter) {
+            return limiter;
+        }
+        try {
+            return dataSource != null && dataSource.isWrapperFor(ConcurrencyLimitingDataSource.class)
+                ? dataSource.unwrap(ConcurrencyLimitingDataSource.class)
+                : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.vms.config;
+
+import com.example.vms.security.UserPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Pins a request's reads to the primary while its user is inside the
+ * read-your-writes window, and opens that window after a successful mutation.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+    private static final Set<String> MUTATIONS = Set.of(
+        HttpMethod.POST.name(), HttpMethod.PUT.name(), HttpMethod.PATCH.name(), HttpMethod.DELETE.name());
+
+    private final ReplicaRouter router;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        UserPrincipal user = currentUser();
+        ReplicaRouter.pinToPrimary(user != null && router.recentlyWrote(user.getId()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRouter.pinToPrimary(false);
+        UserPrincipal user = currentUser();
+        if (user != null && ex == null && response.getStatus() < 400 && MUTATIONS.contains(request.getMethod())) {
+            router.markWrite(user.getId());
+        }
+    }
+
+    private static UserPrincipal currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+            ? principal
+            : null;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.vms.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the replica for read-only transactions. Replicas are taken out of
+ * rotation when a connection attempt or health check fails and put back by
+ * the next passing health check. Reads are pinned to the primary for a short
+ * window after the current user's own writes, so they see them even while
+ * the replicas lag.
+ */
+@Slf4j
+public class ReplicaRouter implements DisposableBean {
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+    private final List<Replica> replicas;
+    private final int healthCheckTimeoutSeconds;
+    private final Cache<UUID, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRouter(List<Replica> replicas, ReplicaRoutingProperties properties) {
+        this.replicas = List.copyOf(replicas);
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, properties.healthCheckTimeout().toSeconds());
+        this.recentWriters = Caffeine.newBuilder()
+            .expireAfterWrite(properties.readYourWritesWindow())
+            .maximumSize(100_000)
+            .build();
+    }
+
+    /**
+     * The replica to serve the current transaction, or null for the primary.
+     */
+    Replica replicaForCurrentTransaction() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || Boolean.TRUE.equals(PRIMARY_PINNED.get())) {
+            return null;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    void markDown(Replica replica, Exception cause) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} taken out of rotation: {}", replica.name, cause.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${db.routing.health-check-interval:PT5S}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException ex) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.info("Replica {} is {}", replica.name, healthy ? "back in rotation" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public void markWrite(UUID userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean recentlyWrote(UUID userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+
+    static void pinToPrimary(boolean pinned) {
+        if (pinned) {
+            PRIMARY_PINNED.set(Boolean.TRUE);
+        } else {
+            PRIMARY_PINNED.remove();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    static final class Replica {
+        private final String name;
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        HikariDataSource dataSource() {
+            return dataSource;
+        }
+    }
+}
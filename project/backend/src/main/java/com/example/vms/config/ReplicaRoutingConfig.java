@@ -0,0 +1,70 @@
+package com.example.vms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured DataSource with one that routes read-only
+ * transactions to the replicas under db.routing.replicas. The primary keeps
+ * the spring.datasource settings.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@ConditionalOnProperty(name = "db.routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRouter replicaRouter(ReplicaRoutingProperties properties, MeterRegistry meterRegistry) {
+        List<ReplicaRouter.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            ReplicaRoutingProperties.Replica replica = properties.replicas().get(i);
+            String name = replica.name() != null ? replica.name() : "replica-" + i;
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("vms-" + name);
+            dataSource.setJdbcUrl(replica.url());
+            dataSource.setUsername(replica.username());
+            dataSource.setPassword(replica.password());
+            dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+            dataSource.setReadOnly(true);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaRouter.Replica(name, dataSource));
+        }
+        return new ReplicaRouter(replicas, properties);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, Environment environment,
+                                 ReplicaRouter replicaRouter) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replicaRouter));
+    }
+
+    @Bean
+    public WebMvcConfigurer readYourWritesConfigurer(ReplicaRouter replicaRouter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ReadYourWritesInterceptor(replicaRouter));
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.vms.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out replica connections inside read-only transactions and primary
+ * connections otherwise, falling back to the primary when a replica cannot
+ * be reached. Must sit behind a LazyConnectionDataSourceProxy so that the
+ * connection is requested after the transaction's read-only flag is set.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    private final DataSource primary;
+    private final ReplicaRouter router;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaRouter router) {
+        this.primary = primary;
+        this.router = router;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        ReplicaRouter.Replica replica = router.replicaForCurrentTransaction();
+        if (replica != null) {
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException ex) {
+                router.markDown(replica, ex);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    // Pool metrics and metadata describe the primary
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? (T) this : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.vms.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "db.routing")
+public record ReplicaRoutingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("5s") Duration readYourWritesWindow,
+    @DefaultValue("PT5S") Duration healthCheckInterval,
+    @DefaultValue("2s") Duration healthCheckTimeout,
+    List<Replica> replicas
+) {
+    public record Replica(
+        String name,
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+
+    public List<Replica> replicas() {
+        return replicas == null ? List.of() : replicas;
+    }
+}
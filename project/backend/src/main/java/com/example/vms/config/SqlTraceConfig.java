@@ -0,0 +1,62 @@
+package com.example.vms.config;
+
+import com.example.vms.sqltrace.SqlTracer;
+import com.example.vms.sqltrace.StatementCountFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Statement timing through a datasource proxy, replacing show-sql: slow and
+ * sampled statement logging, per-request statement counts and fingerprint
+ * aggregates for /admin/sql/fingerprints.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.trace.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTraceConfig {
+
+    @Bean
+    public static SqlTracer sqlTracer(
+            @Value("${sql.trace.slow-threshold:200ms}") Duration slowThreshold,
+            @Value("${sql.trace.sample-rate:0}") double sampleRate,
+            @Value("${sql.trace.max-fingerprints:1000}") int maxFingerprints) {
+        return new SqlTracer(slowThreshold, sampleRate, maxFingerprints);
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlTracingDataSourcePostProcessor(ObjectProvider<SqlTracer> sqlTracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(sqlTracer.getObject())
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(
+            @Value("${sql.trace.request-statement-warn:30}") int warnThreshold,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementCountFilter> registration =
+            new FilterRegistrationBean<>(new StatementCountFilter(warnThreshold, meterRegistry));
+        // Ahead of security so statements run while authenticating are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
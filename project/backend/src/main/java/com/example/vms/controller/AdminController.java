@@ -0,0 +1,62 @@
+package com.example.vms.controller;
+
+import com.example.vms.dto.CacheRegionStatsView;
+import com.example.vms.dto.CacheStatsView;
+import com.example.vms.dto.QueryFingerprintView;
+import com.example.vms.security.JwtTokenProvider;
+import com.example.vms.security.UserPrincipalCache;
+import com.example.vms.service.SecondLevelCacheService;
+import com.example.vms.sqltrace.SqlTracer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminController {
+    private final UserPrincipalCache principalCache;
+    private final JwtTokenProvider tokenProvider;
+    private final ObjectProvider<SqlTracer> sqlTracer;
+    private final SecondLevelCacheService secondLevelCacheService;
+
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatsView>> getCacheStats() {
+        return ResponseEntity.ok(List.of(
+            CacheStatsView.of("userPrincipals", principalCache.size(), principalCache.stats()),
+            CacheStatsView.of("verifiedTokens", tokenProvider.verifiedCacheSize(), tokenProvider.verifiedCacheStats())
+        ));
+    }
+
+    @GetMapping("/caches/regions")
+    public ResponseEntity<List<CacheRegionStatsView>> getCacheRegionStats() {
+        return ResponseEntity.ok(secondLevelCacheService.getRegionStats());
+    }
+
+    @DeleteMapping("/caches/regions")
+    public ResponseEntity<Void> evictCacheRegions() {
+        secondLevelCacheService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/sql/fingerprints")
+    public ResponseEntity<List<QueryFingerprintView>> getQueryFingerprints(
+            @RequestParam(defaultValue = "50") int limit) {
+        SqlTracer tracer = sqlTracer.getIfAvailable();
+        if (tracer == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(tracer.topFingerprints(Math.max(1, Math.min(limit, 1000))));
+    }
+
+    @DeleteMapping("/sql/fingerprints")
+    public ResponseEntity<Void> resetQueryFingerprints() {
+        sqlTracer.ifAvailable(SqlTracer::reset);
+        return ResponseEntity.noContent().build();
+    }
+}
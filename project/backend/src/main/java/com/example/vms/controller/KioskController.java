@@ -0,0 +1,25 @@
+package com.example.vms.controller;
+
+import com.example.vms.dto.KioskScanRequest;
+import com.example.vms.dto.KioskScanResult;
+import com.example.vms.service.KioskService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/kiosk")
+@RequiredArgsConstructor
+public class KioskController {
+    private final KioskService kioskService;
+
+    @PostMapping("/scan")
+    public ResponseEntity<KioskScanResult> scan(@RequestBody KioskScanRequest request) {
+        KioskScanResult result = kioskService.scan(request.token(), request.locationId());
+        return ResponseEntity.status(result.accepted() ? HttpStatus.ACCEPTED : HttpStatus.FORBIDDEN).body(result);
+    }
+}
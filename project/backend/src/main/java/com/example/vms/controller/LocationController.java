@@ -1,12 +1,20 @@
 package com.example.vms.controller;
 
+import com.example.vms.dto.ArrivalsBoardView;
+import com.example.vms.dto.OccupancyView;
+import com.example.vms.dto.VisitorLogView;
 import com.example.vms.model.Location;
+import com.example.vms.service.ArrivalsBoardService;
 import com.example.vms.service.LocationService;
+import com.example.vms.service.OccupancyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,6 +23,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class LocationController {
     private final LocationService locationService;
+    private final OccupancyService occupancyService;
+    private final ArrivalsBoardService arrivalsBoardService;
 
     @GetMapping
     public ResponseEntity<List<Location>> getAllLocations() {
@@ -31,6 +41,34 @@ public class LocationController {
         return ResponseEntity.ok(locationService.getLocationById(id));
     }
 
+    @GetMapping("/{id}/occupancy")
+    public ResponseEntity<OccupancyView> getOccupancy(@PathVariable UUID id) {
+        return ResponseEntity.ok(occupancyService.getOccupancy(id));
+    }
+
+    @GetMapping("/{id}/roster")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY')")
+    public ResponseEntity<Collection<VisitorLogView>> getRoster(@PathVariable UUID id) {
+        return ResponseEntity.ok(occupancyService.getRoster(id));
+    }
+
+    /**
+     * Today's expected arrivals at the location. Clients should send back the
+     * ETag in If-None-Match; an unchanged board is answered with 304.
+     */
+    @GetMapping("/{id}/arrivals")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY')")
+    public ResponseEntity<ArrivalsBoardView> getArrivals(@PathVariable UUID id, WebRequest request) {
+        ArrivalsBoardView board = arrivalsBoardService.getBoard(id);
+        if (request.checkNotModified(board.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .eTag(board.etag())
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(board);
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Location> createLocation(@RequestBody Location location) {
@@ -0,0 +1,50 @@
+package com.example.vms.controller;
+
+import com.example.vms.dto.RollupView;
+import com.example.vms.model.RollupDimension;
+import com.example.vms.model.RollupGranularity;
+import com.example.vms.service.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/reports")
+@RequiredArgsConstructor
+public class ReportController {
+    private final AnalyticsService analyticsService;
+
+    @GetMapping("/locations/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY')")
+    public ResponseEntity<List<RollupView>> getLocationReport(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "DAILY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end) {
+        return ResponseEntity.ok(analyticsService.getRollups(RollupDimension.LOCATION, id, granularity, start, end));
+    }
+
+    @GetMapping("/hosts/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY') or @authService.getCurrentUser().getId() == #id")
+    public ResponseEntity<List<RollupView>> getHostReport(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "DAILY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end) {
+        return ResponseEntity.ok(analyticsService.getRollups(RollupDimension.HOST, id, granularity, start, end));
+    }
+
+    @PostMapping("/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Integer> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end) {
+        return ResponseEntity.ok(analyticsService.backfill(start, end));
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.vms.controller;
 
+import com.example.vms.dto.CursorPage;
 import com.example.vms.model.User;
 import com.example.vms.service.UserService;
+import com.example.vms.util.NdjsonSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -15,15 +19,26 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    public ResponseEntity<CursorPage<User>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(userService.getUserPage(cursor, limit));
+    }
+
+    @GetMapping("/stream")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(NdjsonSupport.body(objectMapper, userService::streamUsers));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @userService.getCurrentUser().getId() == #id")
+    @PreAuthorize("hasRole('ADMIN') or @authService.getCurrentUser().getId() == #id")
     public ResponseEntity<User> getUserById(@PathVariable UUID id) {
         return ResponseEntity.ok(userService.getUserById(id));
     }
@@ -35,7 +50,7 @@ public class UserController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @userService.getCurrentUser().getId() == #id")
+    @PreAuthorize("hasRole('ADMIN') or @authService.getCurrentUser().getId() == #id")
     public ResponseEntity<User> updateUser(@PathVariable UUID id, @RequestBody User user) {
         return ResponseEntity.ok(userService.updateUser(id, user));
     }
@@ -0,0 +1,158 @@
+package com.example.vms.controller;
+
+import com.example.vms.dto.CursorPage;
+import com.example.vms.dto.SearchPage;
+import com.example.vms.dto.VisitorImportReport;
+import com.example.vms.dto.VisitorSearchHit;
+import com.example.vms.dto.VisitorView;
+import com.example.vms.importer.ImportFormat;
+import com.example.vms.importer.VisitorImporter;
+import com.example.vms.model.User;
+import com.example.vms.model.UserRole;
+import com.example.vms.model.Visitor;
+import com.example.vms.model.VisitorStatus;
+import com.example.vms.service.AuthService;
+import com.example.vms.service.VisitorService;
+import com.example.vms.util.NdjsonSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/visitors")
+@RequiredArgsConstructor
+public class VisitorController {
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+    private final VisitorService visitorService;
+    private final AuthService authService;
+    private final ObjectMapper objectMapper;
+    private final VisitorImporter visitorImporter;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY')")
+    public ResponseEntity<CursorPage<VisitorView>> getAllVisitors(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(visitorService.getVisitorPage(cursor, limit));
+    }
+
+    @GetMapping("/stream")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY')")
+    public ResponseEntity<StreamingResponseBody> streamAllVisitors() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(NdjsonSupport.body(objectMapper, visitorService::streamVisitors));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY')")
+    public ResponseEntity<SearchPage<VisitorSearchHit>> searchVisitors(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(visitorService.searchVisitors(q, page, size));
+    }
+
+    @GetMapping("/host")
+    @PreAuthorize("hasRole('HOST')")
+    public ResponseEntity<List<VisitorView>> getMyVisitors() {
+        return ResponseEntity.ok(visitorService.getVisitorsByHost(authService.getCurrentUser()));
+    }
+
+    @GetMapping("/status/{status}")
+    public ResponseEntity<List<VisitorView>> getVisitorsByStatus(@PathVariable VisitorStatus status) {
+        return ResponseEntity.ok(visitorService.getVisitorsByStatus(status));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<VisitorView> getVisitorById(@PathVariable UUID id) {
+        return ResponseEntity.ok(visitorService.getVisitorView(id));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'HOST')")
+    public ResponseEntity<VisitorView> createVisitor(@RequestBody Visitor visitor) {
+        User currentUser = authService.getCurrentUser();
+        if (!visitor.getHost().getId().equals(currentUser.getId()) &&
+            currentUser.getRole() != UserRole.ADMIN) {
+            throw new RuntimeException("You can only create visitors for yourself");
+        }
+        return ResponseEntity.ok(visitorService.createVisitor(visitor));
+    }
+
+    /**
+     * Bulk pre-registration. The body is read as a stream, so uploads of any
+     * size can be sent; the report lists rows that were rejected.
+     */
+    @PostMapping(value = "/import", consumes = {ImportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<VisitorImportReport> importVisitors(HttpServletRequest request) throws IOException {
+        ImportFormat format = ImportFormat.fromContentType(request.getContentType());
+        String source = "upload by " + authService.getCurrentUser().getEmail();
+        return ResponseEntity.ok(visitorImporter.importVisitors(source, format, request.getInputStream()));
+    }
+
+    @GetMapping("/imports")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<VisitorImportReport>> getImports() {
+        return ResponseEntity.ok(visitorImporter.getImports());
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<VisitorView> updateVisitor(@PathVariable UUID id, @RequestBody Visitor visitor) {
+        return ResponseEntity.ok(visitorService.updateVisitor(id, visitor));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = MERGE_PATCH_JSON)
+    public ResponseEntity<VisitorView> patchVisitor(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+        VisitorView patched = visitorService.patchVisitor(id, patch, versionOf(ifMatch));
+        return ResponseEntity.ok().eTag(Long.toString(patched.version())).body(patched);
+    }
+
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<VisitorView> updateVisitorStatus(
+            @PathVariable UUID id,
+            @RequestParam VisitorStatus status) {
+        return ResponseEntity.ok(visitorService.updateVisitorStatus(id, status));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteVisitor(@PathVariable UUID id) {
+        visitorService.deleteVisitor(id);
+        return ResponseEntity.ok().build();
+    }
+
+    // If-Match carries the version as an entity tag, e.g. "3" or W/"3"; * matches any
+    private static Long versionOf(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.strip();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match must carry the visitor version");
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.vms.controller;
+
+import com.example.vms.dto.BulkTransitionRequest;
+import com.example.vms.dto.BulkTransitionResult;
+import com.example.vms.dto.CursorPage;
+import com.example.vms.dto.ExportJobView;
+import com.example.vms.dto.VisitorLogView;
+import com.example.vms.export.ExportCompression;
+import com.example.vms.export.ExportFormat;
+import com.example.vms.export.VisitorLogExporter;
+import com.example.vms.journal.CheckInJournal;
+import com.example.vms.journal.JournalEntry;
+import com.example.vms.journal.JournalEntryType;
+import com.example.vms.model.VisitorLog;
+import com.example.vms.model.VisitorLogStatus;
+import com.example.vms.security.KioskPass;
+import com.example.vms.security.KioskPassSigner;
+import com.example.vms.service.AuthService;
+import com.example.vms.service.IdempotencyService;
+import com.example.vms.service.VisitorLogEventBroadcaster;
+import com.example.vms.service.VisitorLogService;
+import com.example.vms.util.NdjsonSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/visitor-logs")
+@RequiredArgsConstructor
+public class VisitorLogController {
+    private static final String KIOSK_PASS_HEADER = "X-Kiosk-Pass";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final VisitorLogService visitorLogService;
+    private final AuthService authService;
+    private final ObjectMapper objectMapper;
+    private final VisitorLogEventBroadcaster eventBroadcaster;
+    private final KioskPassSigner passSigner;
+    private final ObjectProvider<CheckInJournal> checkInJournal;
+    private final IdempotencyService idempotencyService;
+    private final VisitorLogExporter visitorLogExporter;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY')")
+    public ResponseEntity<CursorPage<VisitorLogView>> getAllVisitorLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(visitorLogService.getVisitorLogPage(cursor, limit));
+    }
+
+    @GetMapping("/stream")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY')")
+    public ResponseEntity<StreamingResponseBody> streamAllVisitorLogs() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(NdjsonSupport.body(objectMapper, visitorLogService::streamVisitorLogs));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY') or (#hostId != null and @authService.getCurrentUser().getId() == #hostId)")
+    public SseEmitter subscribe(
+            @RequestParam(required = false) UUID locationId,
+            @RequestParam(required = false) UUID hostId) {
+        return eventBroadcaster.subscribe(locationId, hostId);
+    }
+
+    @GetMapping("/host")
+    @PreAuthorize("hasRole('HOST')")
+    public ResponseEntity<List<VisitorLogView>> getMyVisitorLogs() {
+        return ResponseEntity.ok(visitorLogService.getVisitorLogsByHost(authService.getCurrentUser()));
+    }
+
+    @GetMapping("/status/{status}")
+    public ResponseEntity<List<VisitorLogView>> getVisitorLogsByStatus(@PathVariable VisitorLogStatus status) {
+        return ResponseEntity.ok(visitorLogService.getVisitorLogsByStatus(status));
+    }
+
+    @GetMapping("/date-range")
+    public ResponseEntity<List<VisitorLogView>> getVisitorLogsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end) {
+        return ResponseEntity.ok(visitorLogService.getVisitorLogsByDateRange(start, end));
+    }
+
+    // Logs checked in within [start, end), streamed as they are read
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportVisitorLogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "NONE") ExportCompression compression) {
+        if (!start.isBefore(end)) {
+            throw new RuntimeException("Export range start must be before its end");
+        }
+        String fileName = format.fileName("visitor-logs-" + start.toEpochMilli() + "-" + end.toEpochMilli(),
+            compression);
+        return ResponseEntity.ok()
+            .contentType(format.mediaType(compression))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(out -> visitorLogExporter.export(start, end, format, compression, out));
+    }
+
+    @PostMapping("/exports")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ExportJobView> startExport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant end,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(defaultValue = "GZIP") ExportCompression compression) {
+        return ResponseEntity.accepted().body(visitorLogExporter.startJob(start, end, format, compression));
+    }
+
+    @GetMapping("/exports")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ExportJobView>> getExports() {
+        return ResponseEntity.ok(visitorLogExporter.getJobs());
+    }
+
+    @GetMapping("/exports/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ExportJobView> getExport(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(visitorLogExporter.getJob(jobId));
+    }
+
+    @GetMapping("/exports/{jobId}/file")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Resource> downloadExport(@PathVariable UUID jobId) {
+        Path file = visitorLogExporter.getJobFile(jobId);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+            .body(new FileSystemResource(file));
+    }
+
+    @DeleteMapping("/exports/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteExport(@PathVariable UUID jobId) {
+        visitorLogExporter.deleteJob(jobId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<VisitorLogView> getVisitorLogById(@PathVariable UUID id) {
+        return ResponseEntity.ok(visitorLogService.getVisitorLogView(id));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'HOST')")
+    public ResponseEntity<VisitorLogView> createVisitorLog(@RequestBody VisitorLog visitorLog) {
+        VisitorLog created = visitorLogService.createVisitorLog(visitorLog);
+        return ResponseEntity.ok()
+            .header(KIOSK_PASS_HEADER, passSigner.issue(created).token())
+            .body(VisitorLogView.from(created));
+    }
+
+    @GetMapping("/{id}/pass")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('HOST') and @visitorLogService.isHostedBy(#id, @authService.getCurrentUser().getId()))")
+    public ResponseEntity<KioskPass> getKioskPass(@PathVariable UUID id) {
+        return ResponseEntity.ok(passSigner.issue(visitorLogService.getVisitorLogById(id)));
+    }
+
+    @PostMapping("/{id}/check-in")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY')")
+    public ResponseEntity<?> checkIn(
+            @PathVariable UUID id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        CheckInJournal journal = checkInJournal.getIfAvailable();
+        if (journal != null) {
+            return ResponseEntity.accepted().body(idempotencyService.execute(idempotencyKey, "journal-check-in:" + id,
+                JournalEntry.class, () -> {
+                    visitorLogService.checkJournalable(id, JournalEntryType.CHECK_IN);
+                    return journal.append(JournalEntryType.CHECK_IN, id).join();
+                }));
+        }
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "check-in:" + id, VisitorLogView.class,
+            () -> VisitorLogView.from(visitorLogService.checkIn(id))));
+    }
+
+    @PostMapping("/{id}/check-out")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY')")
+    public ResponseEntity<?> checkOut(
+            @PathVariable UUID id,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        CheckInJournal journal = checkInJournal.getIfAvailable();
+        if (journal != null) {
+            return ResponseEntity.accepted().body(idempotencyService.execute(idempotencyKey, "journal-check-out:" + id,
+                JournalEntry.class, () -> {
+                    visitorLogService.checkJournalable(id, JournalEntryType.CHECK_OUT);
+                    return journal.append(JournalEntryType.CHECK_OUT, id).join();
+                }));
+        }
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, "check-out:" + id, VisitorLogView.class,
+            () -> VisitorLogView.from(visitorLogService.checkOut(id))));
+    }
+
+    @PostMapping("/check-in")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY')")
+    public ResponseEntity<List<BulkTransitionResult>> checkInAll(@RequestBody BulkTransitionRequest request) {
+        return ResponseEntity.ok(visitorLogService.checkInAll(request.ids()));
+    }
+
+    @PostMapping("/check-out")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY')")
+    public ResponseEntity<List<BulkTransitionResult>> checkOutAll(@RequestBody BulkTransitionRequest request) {
+        return ResponseEntity.ok(visitorLogService.checkOutAll(request.ids()));
+    }
+
+    @PostMapping("/{id}/cancel")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SECURITY') or (hasRole('HOST') and @visitorLogService.isHostedBy(#id, @authService.getCurrentUser().getId()))")
+    public ResponseEntity<VisitorLogView> cancel(@PathVariable UUID id) {
+        return ResponseEntity.ok(VisitorLogView.from(visitorLogService.cancel(id)));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteVisitorLog(@PathVariable UUID id) {
+        visitorLogService.deleteVisitorLog(id);
+        return ResponseEntity.ok().build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.example.vms.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A location's expected arrivals for one local day, earliest first. The
+ * version changes whenever the board does and doubles as its ETag.
+ */
+public record ArrivalsBoardView(
+    UUID locationId,
+    LocalDate date,
+    String timeZone,
+    long version,
+    List<VisitorLogView> arrivals
+) {
+    public String etag() {
+        return "\"" + Long.toString(version, 36) + "\"";
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.vms.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BulkTransitionRequest(List<UUID> ids) {
+    public static final int MAX_IDS = 500;
+}
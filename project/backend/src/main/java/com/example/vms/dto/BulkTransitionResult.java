@@ -0,0 +1,15 @@
+package com.example.vms.dto;
+
+import com.example.vms.model.VisitorLogStatus;
+
+import java.util.UUID;
+
+public record BulkTransitionResult(UUID id, boolean success, VisitorLogStatus status, String error) {
+    public static BulkTransitionResult succeeded(UUID id, VisitorLogStatus status) {
+        return new BulkTransitionResult(id, true, status, null);
+    }
+
+    public static BulkTransitionResult failed(UUID id, String error) {
+        return new BulkTransitionResult(id, false, null, error);
+    }
+}
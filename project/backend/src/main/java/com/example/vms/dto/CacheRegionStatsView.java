@@ -0,0 +1,24 @@
+package com.example.vms.dto;
+
+import org.hibernate.stat.CacheRegionStatistics;
+
+public record CacheRegionStatsView(
+    String region,
+    long elementCount,
+    long hitCount,
+    long missCount,
+    long putCount,
+    double hitRate
+) {
+    public static CacheRegionStatsView of(CacheRegionStatistics stats) {
+        long lookups = stats.getHitCount() + stats.getMissCount();
+        return new CacheRegionStatsView(
+            stats.getRegionName(),
+            stats.getElementCountInMemory(),
+            stats.getHitCount(),
+            stats.getMissCount(),
+            stats.getPutCount(),
+            lookups == 0 ? 0 : (double) stats.getHitCount() / lookups
+        );
+    }
+}
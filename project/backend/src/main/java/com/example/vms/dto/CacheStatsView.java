@@ -0,0 +1,16 @@
+package com.example.vms.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public record CacheStatsView(
+    String name,
+    long size,
+    long hitCount,
+    long missCount,
+    double hitRate,
+    long evictionCount
+) {
+    public static CacheStatsView of(String name, long size, CacheStats stats) {
+        return new CacheStatsView(name, size, stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
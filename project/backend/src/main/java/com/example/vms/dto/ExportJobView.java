@@ -0,0 +1,25 @@
+package com.example.vms.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ExportJobView(
+    UUID id,
+    Status status,
+    Instant start,
+    Instant end,
+    String format,
+    String compression,
+    String fileName,
+    long rows,
+    long bytes,
+    Instant createdAt,
+    Instant finishedAt,
+    String error
+) {
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
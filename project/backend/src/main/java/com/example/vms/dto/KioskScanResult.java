@@ -0,0 +1,13 @@
+package com.example.vms.dto;
+
+import java.util.UUID;
+
+public record KioskScanResult(boolean accepted, UUID visitorLogId, String reason) {
+    public static KioskScanResult accepted(UUID visitorLogId) {
+        return new KioskScanResult(true, visitorLogId, null);
+    }
+
+    public static KioskScanResult rejected(String reason) {
+        return new KioskScanResult(false, null, reason);
+    }
+}
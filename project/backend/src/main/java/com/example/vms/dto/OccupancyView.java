@@ -0,0 +1,6 @@
+package com.example.vms.dto;
+
+import java.util.UUID;
+
+public record OccupancyView(UUID locationId, int headcount, int capacity, int remaining) {
+}
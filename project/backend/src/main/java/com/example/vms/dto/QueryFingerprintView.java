@@ -0,0 +1,14 @@
+package com.example.vms.dto;
+
+public record QueryFingerprintView(
+    String fingerprint,
+    long count,
+    long errors,
+    double totalMillis,
+    double meanMillis,
+    double p50Millis,
+    double p95Millis,
+    double p99Millis,
+    double maxMillis
+) {
+}
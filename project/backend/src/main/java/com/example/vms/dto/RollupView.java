@@ -0,0 +1,24 @@
+package com.example.vms.dto;
+
+import com.example.vms.model.VisitRollup;
+
+import java.time.Instant;
+
+public record RollupView(
+    Instant bucketStart,
+    long checkIns,
+    long completedVisits,
+    long averageDwellSeconds,
+    int peakOccupancy
+) {
+    public static RollupView from(VisitRollup rollup) {
+        long completed = rollup.getCompletedVisits();
+        return new RollupView(
+            rollup.getId().getBucketStart(),
+            rollup.getCheckIns(),
+            completed,
+            completed == 0 ? 0 : rollup.getTotalDwellSeconds() / completed,
+            rollup.getPeakOccupancy()
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.vms.dto;
+
+import java.util.List;
+
+public record SearchPage<T>(
+    List<T> items,
+    int page,
+    int size,
+    long total
+) {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public static int clampSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+}
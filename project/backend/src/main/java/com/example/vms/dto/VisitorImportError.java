@@ -0,0 +1,4 @@
+package com.example.vms.dto;
+
+public record VisitorImportError(long line, String message) {
+}
@@ -0,0 +1,22 @@
+package com.example.vms.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of a running import, or the outcome of a finished one. Only the
+ * first errors are listed; {@code failed} counts all rejected rows.
+ */
+public record VisitorImportReport(
+    UUID id,
+    String source,
+    Instant startedAt,
+    Instant finishedAt,
+    long rowsRead,
+    long visitorsImported,
+    long visitorLogsImported,
+    long failed,
+    List<VisitorImportError> errors
+) {
+}
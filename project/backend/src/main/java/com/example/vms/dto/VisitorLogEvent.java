@@ -0,0 +1,13 @@
+package com.example.vms.dto;
+
+import java.time.Instant;
+
+public record VisitorLogEvent(Type type, VisitorLogView visitorLog, Instant occurredAt) {
+    public enum Type {
+        CREATED,
+        CHECKED_IN,
+        CHECKED_OUT,
+        CANCELED,
+        CHECK_IN_FAILED
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.vms.dto;
+
+import com.example.vms.model.VisitorLog;
+import com.example.vms.model.VisitorLogStatus;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Flat read model for visitor logs. Built directly by JPQL constructor
+ * expressions so list queries need a single round trip and never touch
+ * the full entity graph.
+ */
+public record VisitorLogView(
+    UUID id,
+    UUID visitorId,
+    String visitorName,
+    String visitorCompany,
+    UUID hostId,
+    String hostName,
+    UUID locationId,
+    String locationName,
+    Instant checkInTime,
+    Instant checkOutTime,
+    VisitorLogStatus status
+) {
+    public static final String SELECT =
+        "select new com.example.vms.dto.VisitorLogView(l.id, v.id, v.name, v.company, h.id, h.name, " +
+        "loc.id, loc.name, l.checkInTime, l.checkOutTime, l.status) " +
+        "from VisitorLog l join l.visitor v join l.host h join l.location loc ";
+
+    /**
+     * (checkInTime, id) ascending, with ids compared as unsigned bytes the way
+     * MySQL orders BINARY(16), so results merged from the hot and archive
+     * tiers line up with keyset cursors.
+     */
+    public static final Comparator<VisitorLogView> KEYSET_ORDER = Comparator
+        .comparing(VisitorLogView::checkInTime)
+        .thenComparing(VisitorLogView::id, (a, b) -> {
+            int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+            return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+        });
+
+    public static VisitorLogView from(VisitorLog log) {
+        return new VisitorLogView(
+            log.getId(),
+            log.getVisitor().getId(),
+            log.getVisitor().getName(),
+            log.getVisitor().getCompany(),
+            log.getHost().getId(),
+            log.getHost().getName(),
+            log.getLocation().getId(),
+            log.getLocation().getName(),
+            log.getCheckInTime(),
+            log.getCheckOutTime(),
+            log.getStatus()
+        );
+    }
+}
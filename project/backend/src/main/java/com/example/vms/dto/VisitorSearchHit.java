@@ -0,0 +1,7 @@
+package com.example.vms.dto;
+
+public record VisitorSearchHit(
+    VisitorView visitor,
+    double score
+) {
+}
@@ -0,0 +1,48 @@
+package com.example.vms.dto;
+
+import com.example.vms.model.Visitor;
+import com.example.vms.model.VisitorStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record VisitorView(
+    UUID id,
+    String name,
+    String email,
+    String phone,
+    String company,
+    String purpose,
+    UUID hostId,
+    String hostName,
+    String photoUrl,
+    String documentUrl,
+    VisitorStatus status,
+    Long version,
+    Instant createdAt,
+    Instant updatedAt
+) {
+    public static final String SELECT =
+        "select new com.example.vms.dto.VisitorView(v.id, v.name, v.email, v.phone, v.company, v.purpose, " +
+        "h.id, h.name, v.photoUrl, v.documentUrl, v.status, v.version, v.createdAt, v.updatedAt) " +
+        "from Visitor v join v.host h ";
+
+    public static VisitorView from(Visitor visitor) {
+        return new VisitorView(
+            visitor.getId(),
+            visitor.getName(),
+            visitor.getEmail(),
+            visitor.getPhone(),
+            visitor.getCompany(),
+            visitor.getPurpose(),
+            visitor.getHost().getId(),
+            visitor.getHost().getName(),
+            visitor.getPhotoUrl(),
+            visitor.getDocumentUrl(),
+            visitor.getStatus(),
+            visitor.getVersion(),
+            visitor.getCreatedAt(),
+            visitor.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.vms.export;
+
+import io.airlift.compress.zstd.ZstdOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+public enum ExportCompression {
+    NONE(null, ""),
+    GZIP("application/gzip", ".gz"),
+    // Pure-Java codec, so no native library has to be present on the host
+    ZSTD("application/zstd", ".zst");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String contentType;
+    private final String suffix;
+
+    ExportCompression(String contentType, String suffix) {
+        this.contentType = contentType;
+        this.suffix = suffix;
+    }
+
+    String contentType() {
+        return contentType;
+    }
+
+    String suffix() {
+        return suffix;
+    }
+
+    /**
+     * The compressing stream over {@code out}; closing it finishes the
+     * compressed data and closes {@code out}.
+     */
+    OutputStream wrap(OutputStream out) throws IOException {
+        return switch (this) {
+            case NONE -> out;
+            case GZIP -> new GZIPOutputStream(out, BUFFER_SIZE);
+            case ZSTD -> new ZstdOutputStream(out);
+        };
+    }
+}
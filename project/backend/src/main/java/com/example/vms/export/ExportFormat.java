@@ -0,0 +1,24 @@
+package com.example.vms.export;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE, "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType(ExportCompression compression) {
+        return MediaType.parseMediaType(compression.contentType() != null ? compression.contentType() : contentType);
+    }
+
+    public String fileName(String baseName, ExportCompression compression) {
+        return baseName + "." + extension + compression.suffix();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.vms.export;
+
+import com.example.vms.dto.VisitorLogView;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes visitor log rows to an output stream one at a time, as CSV with a
+ * header line or as NDJSON, optionally gzip- or zstd-compressed. Closing
+ * finishes the compressed stream but leaves the underlying stream open.
+ */
+final class VisitorLogExportWriter implements Closeable {
+    private static final String CSV_HEADER = "id,visitor_id,visitor_name,visitor_company,host_id,host_name," +
+        "location_id,location_name,check_in_time,check_out_time,status\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ExportFormat format;
+    private final OutputStream compressed;
+    private final Writer writer;
+    private final JsonGenerator generator;
+    private final ObjectWriter jsonWriter;
+    private long rows;
+
+    VisitorLogExportWriter(OutputStream out, ExportFormat format, ExportCompression compression,
+                           ObjectMapper objectMapper) throws IOException {
+        this.format = format;
+        this.compressed = compression == ExportCompression.NONE ? null : compression.wrap(new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        });
+        OutputStream target = compressed != null ? compressed : out;
+        this.writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+        if (format == ExportFormat.NDJSON) {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+            this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        } else {
+            this.generator = null;
+            this.jsonWriter = null;
+            writer.write(CSV_HEADER);
+        }
+    }
+
+    void write(VisitorLogView log) throws IOException {
+        if (generator != null) {
+            jsonWriter.writeValue(generator, log);
+            generator.writeRaw('\n');
+        } else {
+            writer.write(String.valueOf(log.id()));
+            writer.write(',');
+            writer.write(String.valueOf(log.visitorId()));
+            writer.write(',');
+            writeCsvField(log.visitorName());
+            writer.write(',');
+            writeCsvField(log.visitorCompany());
+            writer.write(',');
+            writer.write(String.valueOf(log.hostId()));
+            writer.write(',');
+            writeCsvField(log.hostName());
+            writer.write(',');
+            writer.write(String.valueOf(log.locationId()));
+            writer.write(',');
+            writeCsvField(log.locationName());
+            writer.write(',');
+            writer.write(String.valueOf(log.checkInTime()));
+            writer.write(',');
+            if (log.checkOutTime() != null) {
+                writer.write(log.checkOutTime().toString());
+            }
+            writer.write(',');
+            writer.write(log.status().name());
+            writer.write('\n');
+        }
+        rows++;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    private void writeCsvField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (generator != null) {
+            generator.close();
+        }
+        writer.flush();
+        if (compressed != null) {
+            compressed.close();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.vms.export;
+
+import com.example.vms.dto.ExportJobView;
+import com.example.vms.service.VisitorLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Exports visitor logs checked in within a range, streamed from a forward-only
+ * cursor over the hot table and then the archive, so heap use does not depend
+ * on the size of the range. An export is either written straight to a
+ * response or run as a background job into {@code export.directory}, where
+ * files are kept for {@code export.retention}.
+ */
+@Slf4j
+@Component
+public class VisitorLogExporter {
+    private final VisitorLogService visitorLogService;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final Duration retention;
+    private final ExecutorService executor;
+
+    private final ConcurrentMap<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public VisitorLogExporter(VisitorLogService visitorLogService,
+                              ObjectMapper objectMapper,
+                              @Value("${export.directory:${java.io.tmpdir}/vms-exports}") Path directory,
+                              @Value("${export.retention:7d}") Duration retention,
+                              @Value("${export.workers:2}") int workers) throws IOException {
+        this.visitorLogService = visitorLogService;
+        this.objectMapper = objectMapper;
+        this.directory = Files.createDirectories(directory);
+        this.retention = retention;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "visitor-log-export-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Writes the export to {@code out} and returns the number of rows written.
+     */
+    public long export(Instant start, Instant end, ExportFormat format, ExportCompression compression,
+                       OutputStream out) throws IOException {
+        try (VisitorLogExportWriter writer = new VisitorLogExportWriter(out, format, compression, objectMapper)) {
+            visitorLogService.streamVisitorLogsBetween(start, end, log -> {
+                try {
+                    writer.write(log);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            return writer.rows();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    public ExportJobView startJob(Instant start, Instant end, ExportFormat format, ExportCompression compression) {
+        if (!start.isBefore(end)) {
+            throw new RuntimeException("Export range start must be before its end");
+        }
+        UUID id = UUID.randomUUID();
+        ExportJob job = new ExportJob(id, start, end, format.fileName("visitor-logs-" + id, compression), format,
+            compression);
+        jobs.put(id, job);
+        executor.execute(() -> run(job));
+        return job.view();
+    }
+
+    public List<ExportJobView> getJobs() {
+        return jobs.values().stream()
+            .map(ExportJob::view)
+            .sorted(Comparator.comparing(ExportJobView::createdAt).reversed())
+            .toList();
+    }
+
+    public ExportJobView getJob(UUID id) {
+        return findJob(id).view();
+    }
+
+    /**
+     * The finished export file of a completed job.
+     */
+    public Path getJobFile(UUID id) {
+        ExportJob job = findJob(id);
+        if (job.status != ExportJobView.Status.COMPLETED) {
+            throw new RuntimeException("Export is not complete");
+        }
+        return directory.resolve(job.fileName);
+    }
+
+    public void deleteJob(UUID id) {
+        ExportJob job = findJob(id);
+        if (job.status == ExportJobView.Status.RUNNING) {
+            throw new RuntimeException("Export is still running");
+        }
+        jobs.remove(id);
+        deleteQuietly(directory.resolve(job.fileName));
+    }
+
+    /**
+     * Deletes every file in the export directory last modified before the
+     * retention cutoff, whether or not a job on this instance knows it, so
+     * exports from before a restart and partial files of interrupted runs are
+     * cleaned up too. Files of running jobs are left alone.
+     */
+    @Scheduled(fixedDelayString = "${export.purge-interval:PT1H}")
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+        Set<String> running = jobs.values().stream()
+            .filter(job -> job.status == ExportJobView.Status.RUNNING)
+            .flatMap(job -> Stream.of(job.fileName, job.fileName + ".part"))
+            .collect(Collectors.toSet());
+        try (Stream<Path> files = Files.list(directory)) {
+            files
+                .filter(file -> !running.contains(file.getFileName().toString()))
+                .filter(file -> modifiedBefore(file, cutoff))
+                .forEach(VisitorLogExporter::deleteQuietly);
+        } catch (IOException ex) {
+            log.warn("Could not list export directory {}", directory, ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Written under a temporary name and moved into place once complete, so a
+    // download never sees a partial file
+    private void run(ExportJob job) {
+        Path target = directory.resolve(job.fileName);
+        Path partial = directory.resolve(job.fileName + ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                job.rows = export(job.start, job.end, job.format, job.compression, out);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.bytes = Files.size(target);
+            job.finish(ExportJobView.Status.COMPLETED, null);
+            log.info("Exported {} visitor logs checked in from {} to {} into {}", job.rows, job.start, job.end, target);
+        } catch (Exception ex) {
+            deleteQuietly(partial);
+            job.finish(ExportJobView.Status.FAILED, ex.getMessage());
+            log.error("Visitor log export {} failed", job.id, ex);
+        }
+    }
+
+    private ExportJob findJob(UUID id) {
+        ExportJob job = jobs.get(id);
+        if (job == null) {
+            throw new RuntimeException("Export not found");
+        }
+        return job;
+    }
+
+    private static boolean modifiedBefore(Path file, Instant cutoff) {
+        try {
+            return Files.isRegularFile(file) && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException ex) {
+            // Deleted by another purge or job in the meantime
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete export file {}", path, ex);
+        }
+    }
+
+    private static final class ExportJob {
+        private final UUID id;
+        private final Instant start;
+        private final Instant end;
+        private final String fileName;
+        private final ExportFormat format;
+        private final ExportCompression compression;
+        private final Instant createdAt = Instant.now();
+        private volatile ExportJobView.Status status = ExportJobView.Status.RUNNING;
+        private volatile Instant finishedAt;
+        private volatile long rows;
+        private volatile long bytes;
+        private volatile String error;
+
+        private ExportJob(UUID id, Instant start, Instant end, String fileName, ExportFormat format,
+                          ExportCompression compression) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.fileName = fileName;
+            this.format = format;
+            this.compression = compression;
+        }
+
+        private void finish(ExportJobView.Status status, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+
+        private ExportJobView view() {
+            return new ExportJobView(id, status, start, end, format.name(), compression.name(), fileName,
+                rows, bytes, createdAt, finishedAt, error);
+        }
+    }
+}
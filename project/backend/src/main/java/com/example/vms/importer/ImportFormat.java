@@ -0,0 +1,36 @@
+package com.example.vms.importer;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType type = MediaType.parseMediaType(contentType);
+            if (type.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                return NDJSON;
+            }
+            if (type.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+                return CSV;
+            }
+        }
+        throw new RuntimeException("Unsupported import content type: " + contentType);
+    }
+
+    public static ImportFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        throw new RuntimeException("Cannot tell the import format of " + fileName);
+    }
+}
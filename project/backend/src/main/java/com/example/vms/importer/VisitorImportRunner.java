@@ -0,0 +1,51 @@
+package com.example.vms.importer;
+
+import com.example.vms.dto.VisitorImportError;
+import com.example.vms.dto.VisitorImportReport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command-line import: start the application with
+ * {@code --import.visitors.file=visitors.csv --spring.main.web-application-type=none}
+ * and it imports the file, logs the rejected rows and exits, with a non-zero
+ * status if any row failed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "import.visitors.file")
+public class VisitorImportRunner implements ApplicationRunner {
+    private final VisitorImporter visitorImporter;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${import.visitors.file}")
+    private Path file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        VisitorImportReport report;
+        try (InputStream in = Files.newInputStream(file)) {
+            report = visitorImporter.importVisitors(file.toString(), ImportFormat.fromFileName(file.toString()), in);
+        }
+        for (VisitorImportError error : report.errors()) {
+            log.warn("Line {}: {}", error.line(), error.message());
+        }
+        if (report.failed() > report.errors().size()) {
+            log.warn("{} more rows were rejected", report.failed() - report.errors().size());
+        }
+        int exitCode = report.failed() == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
@@ -0,0 +1,375 @@
+package com.example.vms.importer;
+
+import com.example.vms.dto.VisitorImportError;
+import com.example.vms.dto.VisitorImportReport;
+import com.example.vms.model.Visitor;
+import com.example.vms.model.VisitorLogStatus;
+import com.example.vms.model.VisitorStatus;
+import com.example.vms.repository.LocationRepository;
+import com.example.vms.repository.UserRepository;
+import com.example.vms.search.VisitorSearchIndex;
+import com.example.vms.service.ArrivalsBoardService;
+import com.example.vms.util.UuidBytes;
+import com.example.vms.util.UuidV7;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk pre-registration of visitors from a CSV or NDJSON stream. Rows are
+ * read and validated on the calling thread against host and location ids
+ * loaded once up front, then written in JDBC batches of {@code chunk-size}
+ * rows by a small worker pool, one transaction per chunk. At most two chunks
+ * per worker are in flight, so memory use does not grow with the input.
+ *
+ * <p>Each row creates a PRE_REGISTERED visitor and, when it names a location
+ * and an expected arrival time, an EXPECTED visitor log.
+ */
+@Slf4j
+@Component
+public class VisitorImporter {
+    private static final int MAX_FIELD_LENGTH = 255;
+    private static final int RECENT_IMPORTS = 20;
+
+    private static final String INSERT_VISITOR =
+        "insert into visitors (id, name, email, phone, company, purpose, host_id, status, version, " +
+        "created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)";
+    private static final String INSERT_VISITOR_LOG =
+        "insert into visitor_logs (id, visitor_id, host_id, location_id, check_in_time, status, version, " +
+        "created_at, updated_at) values (?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final LocationRepository locationRepository;
+    private final VisitorSearchIndex searchIndex;
+    private final ArrivalsBoardService arrivalsBoardService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int workers;
+    private final int maxReportedErrors;
+
+    private final ConcurrentMap<UUID, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public VisitorImporter(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           UserRepository userRepository,
+                           LocationRepository locationRepository,
+                           VisitorSearchIndex searchIndex,
+                           ArrivalsBoardService arrivalsBoardService,
+                           ObjectMapper objectMapper,
+                           @Value("${import.visitors.chunk-size:1000}") int chunkSize,
+                           @Value("${import.visitors.workers:4}") int workers,
+                           @Value("${import.visitors.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.locationRepository = locationRepository;
+        this.searchIndex = searchIndex;
+        this.arrivalsBoardService = arrivalsBoardService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.workers = workers;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Running imports and the most recent finished ones, newest first.
+     */
+    public List<VisitorImportReport> getImports() {
+        return jobs.values().stream()
+            .map(ImportJob::report)
+            .sorted(Comparator.comparing(VisitorImportReport::startedAt).reversed())
+            .toList();
+    }
+
+    public VisitorImportReport importVisitors(String source, ImportFormat format, InputStream in) {
+        ImportJob job = new ImportJob(source);
+        jobs.put(job.id, job);
+        Set<UUID> hostIds = new HashSet<>(userRepository.findAllIds());
+        Set<UUID> locationIds = new HashSet<>(locationRepository.findAllIds());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "visitor-import-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore inFlight = new Semaphore(workers * 2);
+        try (VisitorRowReader reader = new VisitorRowReader(in, format, objectMapper)) {
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            VisitorRowReader.RawRow raw;
+            while ((raw = reader.next()) != null) {
+                job.rowsRead.incrementAndGet();
+                ImportRow row = validate(raw, hostIds, locationIds, job);
+                if (row == null) {
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    submit(pool, inFlight, chunk, job);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(pool, inFlight, chunk, job);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to read import " + source, ex);
+        } finally {
+            pool.shutdown();
+            awaitTermination(pool);
+            job.finishedAt = Instant.now();
+            trimFinishedJobs();
+        }
+
+        if (job.visitorLogsImported.get() > 0) {
+            arrivalsBoardService.reload();
+        }
+        VisitorImportReport report = job.report();
+        log.info("Imported {} visitors and {} visitor logs from {} ({} rows read, {} failed)",
+            report.visitorsImported(), report.visitorLogsImported(), source, report.rowsRead(), report.failed());
+        return report;
+    }
+
+    private ImportRow validate(VisitorRowReader.RawRow raw, Set<UUID> hostIds, Set<UUID> locationIds, ImportJob job) {
+        if (raw.error() != null) {
+            job.fail(raw.line(), raw.error());
+            return null;
+        }
+        Map<String, String> fields = raw.fields();
+        try {
+            UUID hostId = parseId(fields.get("hostid"), "hostId");
+            if (hostId == null) {
+                throw new IllegalArgumentException("hostId is required");
+            }
+            if (!hostIds.contains(hostId)) {
+                throw new IllegalArgumentException("Host not found: " + hostId);
+            }
+            UUID locationId = parseId(fields.get("locationid"), "locationId");
+            String expectedAt = fields.get("expectedat");
+            if ((locationId == null) != (expectedAt == null)) {
+                throw new IllegalArgumentException("locationId and expectedAt must be given together");
+            }
+            if (locationId != null && !locationIds.contains(locationId)) {
+                throw new IllegalArgumentException("Location not found: " + locationId);
+            }
+            return new ImportRow(
+                raw.line(),
+                UuidV7.generate(),
+                required(fields, "name"),
+                required(fields, "email"),
+                required(fields, "phone"),
+                optional(fields, "company"),
+                required(fields, "purpose"),
+                hostId,
+                locationId,
+                expectedAt == null ? null : parseInstant(expectedAt)
+            );
+        } catch (IllegalArgumentException ex) {
+            job.fail(raw.line(), ex.getMessage());
+            return null;
+        }
+    }
+
+    private void submit(ExecutorService pool, Semaphore inFlight, List<ImportRow> chunk, ImportJob job) {
+        inFlight.acquireUninterruptibly();
+        try {
+            pool.execute(() -> {
+                try {
+                    write(chunk, job);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException ex) {
+            inFlight.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Writes the chunk in one transaction. When the batch is rejected, for
+     * instance by a constraint on a single row, the rows are retried one by
+     * one so only the offending lines are reported as failed.
+     */
+    private void write(List<ImportRow> chunk, ImportJob job) {
+        Timestamp now = Timestamp.from(Instant.now());
+        try {
+            insert(chunk, now, job);
+            return;
+        } catch (RuntimeException ex) {
+            log.warn("Import chunk of {} rows starting at line {} failed, retrying row by row: {}",
+                chunk.size(), chunk.get(0).line(), rootMessage(ex));
+        }
+
+        for (ImportRow row : chunk) {
+            try {
+                insert(List.of(row), now, job);
+            } catch (RuntimeException ex) {
+                job.fail(row.line(), "Row rejected: " + rootMessage(ex));
+            }
+        }
+    }
+
+    private void insert(List<ImportRow> rows, Timestamp now, ImportJob job) {
+        List<Object[]> visitors = new ArrayList<>(rows.size());
+        List<Object[]> visitorLogs = new ArrayList<>();
+        for (ImportRow row : rows) {
+            byte[] visitorId = UuidBytes.toBytes(row.id());
+            byte[] hostId = UuidBytes.toBytes(row.hostId());
+            visitors.add(new Object[]{visitorId, row.name(), row.email(), row.phone(), row.company(), row.purpose(),
+                hostId, VisitorStatus.PRE_REGISTERED.name(), now, now});
+            if (row.locationId() != null) {
+                visitorLogs.add(new Object[]{UuidBytes.toBytes(UuidV7.generate()), visitorId, hostId,
+                    UuidBytes.toBytes(row.locationId()), Timestamp.from(row.expectedAt()),
+                    VisitorLogStatus.EXPECTED.name(), now, now});
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_VISITOR, visitors);
+            if (!visitorLogs.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_VISITOR_LOG, visitorLogs);
+            }
+        });
+
+        job.visitorsImported.addAndGet(visitors.size());
+        job.visitorLogsImported.addAndGet(visitorLogs.size());
+        rows.forEach(row -> searchIndex.index(row.toVisitor()));
+    }
+
+    private void trimFinishedJobs() {
+        List<ImportJob> finished = jobs.values().stream()
+            .filter(job -> job.finishedAt != null)
+            .sorted(Comparator.comparing((ImportJob job) -> job.startedAt).reversed())
+            .toList();
+        finished.stream().skip(RECENT_IMPORTS).forEach(job -> jobs.remove(job.id));
+    }
+
+    private static void awaitTermination(ExecutorService pool) {
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String required(Map<String, String> fields, String name) {
+        String value = optional(fields, name);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        return value;
+    }
+
+    private static String optional(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        if (value.length() > MAX_FIELD_LENGTH) {
+            throw new IllegalArgumentException(name + " is longer than " + MAX_FIELD_LENGTH + " characters");
+        }
+        return value.strip();
+    }
+
+    private static UUID parseId(String value, String name) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value.strip());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static Instant parseInstant(String value) {
+        try {
+            return Instant.parse(value.strip());
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid expectedAt, expected an ISO-8601 timestamp: " + value);
+        }
+    }
+
+    private static String rootMessage(Throwable ex) {
+        Throwable root = ex;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private record ImportRow(long line, UUID id, String name, String email, String phone, String company,
+                             String purpose, UUID hostId, UUID locationId, Instant expectedAt) {
+        Visitor toVisitor() {
+            Visitor visitor = new Visitor();
+            visitor.setId(id);
+            visitor.setName(name);
+            visitor.setEmail(email);
+            visitor.setPhone(phone);
+            visitor.setCompany(company);
+            return visitor;
+        }
+    }
+
+    private final class ImportJob {
+        private final UUID id = UUID.randomUUID();
+        private final String source;
+        private final Instant startedAt = Instant.now();
+        private volatile Instant finishedAt;
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong visitorsImported = new AtomicLong();
+        private final AtomicLong visitorLogsImported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<VisitorImportError> errors = Collections.synchronizedList(new ArrayList<>());
+
+        private ImportJob(String source) {
+            this.source = source;
+        }
+
+        private void fail(long line, String message) {
+            if (failed.incrementAndGet() <= maxReportedErrors) {
+                errors.add(new VisitorImportError(line, message));
+            }
+        }
+
+        private VisitorImportReport report() {
+            List<VisitorImportError> sorted;
+            synchronized (errors) {
+                sorted = new ArrayList<>(errors);
+            }
+            sorted.sort(Comparator.comparingLong(VisitorImportError::line));
+            return new VisitorImportReport(id, source, startedAt, finishedAt, rowsRead.get(),
+                visitorsImported.get(), visitorLogsImported.get(), failed.get(), sorted);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.vms.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads an upload one record at a time. CSV needs a header row; quoted fields
+ * may contain commas, doubled quotes and line breaks. NDJSON has one object
+ * per line. Field names are matched ignoring case, '_' and '-'.
+ */
+final class VisitorRowReader implements Closeable {
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber;
+
+    VisitorRowReader(InputStream in, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    record RawRow(long line, Map<String, String> fields, String error) {
+        static RawRow malformed(long line, String error) {
+            return new RawRow(line, Map.of(), error);
+        }
+    }
+
+    /**
+     * The next record, or null at the end of the input.
+     */
+    RawRow next() throws IOException {
+        return format == ImportFormat.CSV ? nextCsv() : nextNdjson();
+    }
+
+    private RawRow nextNdjson() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException ex) {
+            return RawRow.malformed(lineNumber, "Malformed JSON: " + ex.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return RawRow.malformed(lineNumber, "Expected a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        node.fields().forEachRemaining(field ->
+            fields.put(normalize(field.getKey()), field.getValue().isNull() ? null : field.getValue().asText()));
+        return new RawRow(lineNumber, fields, null);
+    }
+
+    private RawRow nextCsv() throws IOException {
+        if (header == null) {
+            List<String> names = readCsvRecord();
+            if (names == null) {
+                return null;
+            }
+            if (!names.isEmpty() && names.get(0).startsWith("\uFEFF")) {
+                names.set(0, names.get(0).substring(1));
+            }
+            header = names.stream().map(VisitorRowReader::normalize).toList();
+        }
+
+        List<String> values;
+        long line;
+        do {
+            line = lineNumber + 1;
+            values = readCsvRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isEmpty());
+
+        if (values.size() != header.size()) {
+            return RawRow.malformed(line, "Expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            fields.put(header.get(i), values.get(i).isEmpty() ? null : values.get(i));
+        }
+        return new RawRow(line, fields, null);
+    }
+
+    private List<String> readCsvRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // a quoted field runs on into the next line
+                line = reader.readLine();
+                if (line == null) {
+                    break;
+                }
+                lineNumber++;
+                value.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().strip());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString().strip());
+        return values;
+    }
+
+    private static String normalize(String name) {
+        return name.strip().replace("_", "").replace("-", "").toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
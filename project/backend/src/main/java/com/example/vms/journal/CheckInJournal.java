@@ -0,0 +1,316 @@
+package com.example.vms.journal;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable append-only journal of check-in/check-out transitions, written to
+ * pre-allocated memory-mapped segments. Appends are cheap in-memory writes; a
+ * single group-commit thread forces the mapped segment to disk at most once
+ * per fsync interval and then acknowledges every append it covered. Durable
+ * entries are handed to the flusher through {@link #drainDurable}, and
+ * segments whose entries are all checkpointed are deleted.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "journal.enabled", havingValue = "true")
+public class CheckInJournal {
+    // sequence, type, visitor log id, occurred-at millis, CRC32C of the preceding bytes
+    static final int RECORD_BYTES = 8 + 1 + 16 + 8 + 4;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final long fsyncIntervalNanos;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Queue<PendingAppend> awaitingSync = new ConcurrentLinkedQueue<>();
+    private final BlockingQueue<JournalEntry> durable = new LinkedBlockingQueue<>();
+    private final ConcurrentNavigableMap<Long, Long> segmentLastSequence = new ConcurrentSkipListMap<>();
+
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    private long nextSequence = 1;
+    private volatile long checkpoint;
+    private volatile boolean running;
+    private Thread groupCommitter;
+
+    public CheckInJournal(
+            @Value("${journal.directory:./data/journal}") Path directory,
+            @Value("${journal.segment-records:1048576}") int segmentRecords,
+            @Value("${journal.fsync-interval:5ms}") Duration fsyncInterval) {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(directory);
+        checkpoint = readCheckpoint();
+        int recovered = recover();
+        // Once every segment has been checkpointed and deleted, the checkpoint
+        // is the only record of how far the sequence got
+        nextSequence = Math.max(nextSequence, checkpoint + 1);
+        openSegment(segmentLastSequence.isEmpty() ? 0 : segmentLastSequence.lastKey() + 1);
+
+        running = true;
+        groupCommitter = new Thread(this::groupCommitLoop, "journal-group-commit");
+        groupCommitter.setDaemon(true);
+        groupCommitter.start();
+        log.info("Opened check-in journal in {} at checkpoint {}, {} entries to replay",
+            directory, checkpoint, recovered);
+    }
+
+    /**
+     * Appends a transition and returns a future that completes once the record
+     * has been forced to disk.
+     */
+    public CompletableFuture<JournalEntry> append(JournalEntryType type, UUID visitorLogId) {
+        if (!running) {
+            throw new IllegalStateException("Check-in journal is closed");
+        }
+        CompletableFuture<JournalEntry> future = new CompletableFuture<>();
+        appendLock.lock();
+        try {
+            if (!segment.hasRemaining()) {
+                rotate();
+            }
+            // Records keep millisecond times, so the acknowledged entry matches the one recovered
+            JournalEntry entry = new JournalEntry(nextSequence++, type, visitorLogId,
+                Instant.now().truncatedTo(ChronoUnit.MILLIS));
+            write(segment, entry);
+            segmentLastSequence.put(segmentIndex, entry.sequence());
+            awaitingSync.add(new PendingAppend(entry, future));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            appendLock.unlock();
+        }
+        LockSupport.unpark(groupCommitter);
+        return future;
+    }
+
+    /**
+     * Moves up to {@code max} durable entries, oldest first, into the sink.
+     */
+    public int drainDurable(List<JournalEntry> sink, int max) {
+        return durable.drainTo(sink, max);
+    }
+
+    /**
+     * Records that every entry up to {@code sequence} has been applied to the
+     * database and removes segments that are no longer needed for recovery.
+     */
+    public void checkpoint(long sequence) throws IOException {
+        if (sequence <= checkpoint) {
+            return;
+        }
+        // Forced before the rename, so a crash leaves either the old checkpoint
+        // or the new one, and never one ahead of segments that were not applied
+        Path tmp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.wrap(Long.toString(sequence).getBytes(StandardCharsets.US_ASCII)));
+            out.force(true);
+        }
+        Files.move(tmp, directory.resolve(CHECKPOINT_FILE),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+        checkpoint = sequence;
+
+        long current = segmentIndex;
+        for (Map.Entry<Long, Long> entry : segmentLastSequence.headMap(current).entrySet()) {
+            if (entry.getValue() <= sequence) {
+                Files.deleteIfExists(segmentPath(entry.getKey()));
+                segmentLastSequence.remove(entry.getKey());
+            }
+        }
+    }
+
+    public int pendingSync() {
+        return awaitingSync.size();
+    }
+
+    public int pendingApply() {
+        return durable.size();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        running = false;
+        LockSupport.unpark(groupCommitter);
+        try {
+            groupCommitter.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        appendLock.lock();
+        try {
+            segment.force();
+            channel.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void groupCommitLoop() {
+        while (running || !awaitingSync.isEmpty()) {
+            if (awaitingSync.isEmpty()) {
+                LockSupport.parkNanos(this, fsyncIntervalNanos);
+                continue;
+            }
+            List<PendingAppend> batch = new ArrayList<>();
+            MappedByteBuffer toForce;
+            // Everything polled here lives in this segment or in one that rotate() already forced
+            appendLock.lock();
+            try {
+                PendingAppend pending;
+                while ((pending = awaitingSync.poll()) != null) {
+                    batch.add(pending);
+                }
+                toForce = segment;
+            } finally {
+                appendLock.unlock();
+            }
+            try {
+                toForce.force();
+            } catch (RuntimeException ex) {
+                batch.forEach(pending -> pending.future().completeExceptionally(ex));
+                continue;
+            }
+            for (PendingAppend pending : batch) {
+                durable.add(pending.entry());
+                pending.future().complete(pending.entry());
+            }
+            // Let more appends accumulate so the next force covers a larger group
+            LockSupport.parkNanos(this, fsyncIntervalNanos);
+        }
+    }
+
+    private void rotate() throws IOException {
+        segment.force();
+        channel.close();
+        openSegment(segmentIndex + 1);
+    }
+
+    private void openSegment(long index) throws IOException {
+        segmentIndex = index;
+        channel = FileChannel.open(segmentPath(index),
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_BYTES);
+    }
+
+    private int recover() throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files
+                .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                .sorted((a, b) -> Long.compare(indexOf(a), indexOf(b)))
+                .toList();
+        }
+
+        int recovered = 0;
+        for (Path path : segments) {
+            long lastSequence = 0;
+            try (FileChannel recoveryChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = recoveryChannel.map(FileChannel.MapMode.READ_ONLY, 0, recoveryChannel.size());
+                JournalEntry entry;
+                while (buffer.remaining() >= RECORD_BYTES && (entry = read(buffer)) != null) {
+                    lastSequence = entry.sequence();
+                    nextSequence = Math.max(nextSequence, entry.sequence() + 1);
+                    if (entry.sequence() > checkpoint) {
+                        durable.add(entry);
+                        recovered++;
+                    }
+                }
+            }
+            if (lastSequence <= checkpoint) {
+                Files.deleteIfExists(path);
+            } else {
+                segmentLastSequence.put(indexOf(path), lastSequence);
+            }
+        }
+        return recovered;
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        return Files.exists(path) ? Long.parseLong(Files.readString(path).trim()) : 0;
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private static long indexOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void write(ByteBuffer buffer, JournalEntry entry) {
+        int start = buffer.position();
+        buffer.putLong(entry.sequence())
+            .put((byte) entry.type().ordinal())
+            .putLong(entry.visitorLogId().getMostSignificantBits())
+            .putLong(entry.visitorLogId().getLeastSignificantBits())
+            .putLong(entry.occurredAt().toEpochMilli());
+        buffer.putInt(crc(buffer, start));
+    }
+
+    // Returns null at the end of the written region or at a torn record
+    private static JournalEntry read(ByteBuffer buffer) {
+        int start = buffer.position();
+        long sequence = buffer.getLong();
+        byte type = buffer.get();
+        UUID visitorLogId = new UUID(buffer.getLong(), buffer.getLong());
+        long occurredAt = buffer.getLong();
+        int expectedCrc = crc(buffer, start);
+        int crc = buffer.getInt();
+        if (sequence == 0 || crc != expectedCrc || type < 0 || type >= JournalEntryType.values().length) {
+            return null;
+        }
+        return new JournalEntry(sequence, JournalEntryType.values()[type], visitorLogId,
+            Instant.ofEpochMilli(occurredAt));
+    }
+
+    private static int crc(ByteBuffer buffer, int start) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start, buffer.position() - start));
+        return (int) crc.getValue();
+    }
+
+    private record PendingAppend(JournalEntry entry, CompletableFuture<JournalEntry> future) {
+    }
+}
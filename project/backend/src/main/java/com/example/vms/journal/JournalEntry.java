@@ -0,0 +1,7 @@
+package com.example.vms.journal;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record JournalEntry(long sequence, JournalEntryType type, UUID visitorLogId, Instant occurredAt) {
+}
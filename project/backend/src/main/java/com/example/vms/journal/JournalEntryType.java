@@ -0,0 +1,6 @@
+package com.example.vms.journal;
+
+public enum JournalEntryType {
+    CHECK_IN,
+    CHECK_OUT
+}
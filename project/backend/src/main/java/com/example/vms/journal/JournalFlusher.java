@@ -0,0 +1,110 @@
+package com.example.vms.journal;
+
+import com.example.vms.dto.BulkTransitionRequest;
+import com.example.vms.dto.BulkTransitionResult;
+import com.example.vms.service.VisitorLogService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies durable journal entries to visitor_logs and visitors in grouped
+ * transactions, then advances the journal checkpoint. A failed batch is kept
+ * and retried on the next run, and replays are harmless because each
+ * transition only applies from its expected source status. Entries that
+ * were acknowledged but cannot apply, because the log moved on or the
+ * location is full, are logged at WARN and counted.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "journal.enabled", havingValue = "true")
+public class JournalFlusher {
+    private final CheckInJournal journal;
+    private final VisitorLogService visitorLogService;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Counter applyFailures;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private List<JournalEntry> retry = new ArrayList<>();
+
+    public JournalFlusher(CheckInJournal journal, VisitorLogService visitorLogService, MeterRegistry meterRegistry,
+                          @Value("${journal.flush-batch-size:500}") int batchSize,
+                          @Value("${journal.flush-interval:50ms}") Duration flushInterval) {
+        this.journal = journal;
+        this.visitorLogService = visitorLogService;
+        this.batchSize = Math.min(batchSize, BulkTransitionRequest.MAX_IDS);
+        this.flushInterval = flushInterval;
+        this.applyFailures = Counter.builder("vms.journal.apply.failures")
+            .description("Acknowledged journal entries that could not be applied")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::flush, 0, flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void flush() {
+        try {
+            while (true) {
+                List<JournalEntry> batch = retry;
+                retry = new ArrayList<>();
+                journal.drainDurable(batch, batchSize - batch.size());
+                if (batch.isEmpty()) {
+                    return;
+                }
+                try {
+                    apply(batch);
+                } catch (RuntimeException ex) {
+                    log.warn("Applying {} journal entries failed, will retry: {}", batch.size(), ex.getMessage());
+                    retry = batch;
+                    return;
+                }
+            }
+        } catch (Exception ex) {
+            log.error("Journal flush failed", ex);
+        }
+    }
+
+    private void apply(List<JournalEntry> batch) throws IOException {
+        List<BulkTransitionResult> results = visitorLogService.applyJournaled(batch);
+        for (BulkTransitionResult result : results) {
+            if (!result.success()) {
+                applyFailures.increment();
+                log.warn("Acknowledged journaled transition for visitor log {} was not applied: {}",
+                    result.id(), result.error());
+            }
+        }
+        long lastSequence = batch.stream().mapToLong(JournalEntry::sequence).max().orElse(0);
+        journal.checkpoint(lastSequence);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
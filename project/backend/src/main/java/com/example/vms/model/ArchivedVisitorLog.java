@@ -0,0 +1,55 @@
+package com.example.vms.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A closed visitor log moved out of the hot visitor_logs table by
+ * {@code VisitorLogArchiver}. Read-only; rows are written by native
+ * INSERT ... SELECT.
+ */
+@Data
+@Entity
+@Table(name = "visitor_logs_archive", indexes = {
+    @Index(name = "idx_visitor_logs_archive_check_in_id", columnList = "check_in_time, id"),
+    @Index(name = "idx_visitor_logs_archive_host_check_in", columnList = "host_id, check_in_time"),
+    @Index(name = "idx_visitor_logs_archive_status_check_in", columnList = "status, check_in_time")
+})
+public class ArchivedVisitorLog {
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID visitorId;
+
+    private String visitorName;
+
+    private String visitorCompany;
+
+    @Column(nullable = false)
+    private UUID hostId;
+
+    private String hostName;
+
+    @Column(nullable = false)
+    private UUID locationId;
+
+    private String locationName;
+
+    @Column(nullable = false)
+    private Instant checkInTime;
+
+    private Instant checkOutTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private VisitorLogStatus status;
+
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant archivedAt;
+}
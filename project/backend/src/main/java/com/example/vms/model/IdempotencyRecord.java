@@ -0,0 +1,30 @@
+package com.example.vms.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "idempotency_keys", indexes = {
+    @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+public class IdempotencyRecord {
+    @Id
+    @Column(name = "idempotency_key", length = 128)
+    private String key;
+
+    @Column(nullable = false, length = 128)
+    private String scope;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -2,6 +2,8 @@ package com.example.vms.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,11 +13,15 @@ import java.util.UUID;
 
 @Data
 @Entity
-@Table(name = "locations")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "locations", indexes = {
+    @Index(name = "idx_locations_active", columnList = "active")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Location {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false)
@@ -41,6 +47,10 @@ public class Location {
 
     private boolean active = true;
 
+    // IANA zone id, e.g. Europe/Berlin
+    @Column(nullable = false, length = 64)
+    private String timeZone = "UTC";
+
     @CreatedDate
     private Instant createdAt;
 
@@ -0,0 +1,16 @@
+package com.example.vms.model;
+
+public enum RollupDimension {
+    LOCATION("location_id"),
+    HOST("host_id");
+
+    private final String column;
+
+    RollupDimension(String column) {
+        this.column = column;
+    }
+
+    public String column() {
+        return column;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.vms.model;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+public enum RollupGranularity {
+    HOURLY(ChronoUnit.HOURS, "%Y-%m-%d %H:00:00"),
+    DAILY(ChronoUnit.DAYS, "%Y-%m-%d 00:00:00");
+
+    private final ChronoUnit unit;
+    private final String sqlBucketFormat;
+
+    RollupGranularity(ChronoUnit unit, String sqlBucketFormat) {
+        this.unit = unit;
+        this.sqlBucketFormat = sqlBucketFormat;
+    }
+
+    public Instant bucketOf(Instant time) {
+        return time.truncatedTo(unit);
+    }
+
+    public String sqlBucketFormat() {
+        return sqlBucketFormat;
+    }
+}
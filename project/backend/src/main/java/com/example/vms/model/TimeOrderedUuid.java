@@ -0,0 +1,21 @@
+package com.example.vms.model;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates the id as a time-ordered UUIDv7 on insert, replacing
+ * {@code @GeneratedValue(strategy = GenerationType.UUID)}. Rows created
+ * before the switch keep their random v4 ids: both are valid BINARY(16)
+ * keys, so no data migration is needed, and new rows still append at the
+ * end of the index.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
@@ -0,0 +1,24 @@
+package com.example.vms.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(name = "visit_rollups")
+public class VisitRollup {
+    @EmbeddedId
+    private VisitRollupId id;
+
+    @Column(nullable = false)
+    private long checkIns;
+
+    @Column(nullable = false)
+    private long completedVisits;
+
+    @Column(nullable = false)
+    private long totalDwellSeconds;
+
+    @Column(nullable = false)
+    private int peakOccupancy;
+}
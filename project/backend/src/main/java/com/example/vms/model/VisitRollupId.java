@@ -0,0 +1,33 @@
+package com.example.vms.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class VisitRollupId implements Serializable {
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RollupDimension dimension;
+
+    @Column(nullable = false)
+    private UUID dimensionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RollupGranularity granularity;
+
+    @Column(nullable = false)
+    private Instant bucketStart;
+}
@@ -2,6 +2,7 @@ package com.example.vms.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,11 +12,15 @@ import java.util.UUID;
 
 @Data
 @Entity
-@Table(name = "visitors")
+@DynamicUpdate
+@Table(name = "visitors", indexes = {
+    @Index(name = "idx_visitors_status_created", columnList = "status, created_at"),
+    @Index(name = "idx_visitors_host_created", columnList = "host_id, created_at")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Visitor {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(nullable = false)
@@ -32,7 +37,7 @@ public class Visitor {
     @Column(nullable = false)
     private String purpose;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "host_id", nullable = false)
     private User host;
 
@@ -43,6 +48,10 @@ public class Visitor {
     @Column(nullable = false)
     private VisitorStatus status;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreatedDate
     private Instant createdAt;
 
@@ -2,6 +2,7 @@ package com.example.vms.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,22 +12,28 @@ import java.util.UUID;
 
 @Data
 @Entity
-@Table(name = "visitor_logs")
+@DynamicUpdate
+@Table(name = "visitor_logs", indexes = {
+    @Index(name = "idx_visitor_logs_status_check_in", columnList = "status, check_in_time"),
+    @Index(name = "idx_visitor_logs_host_check_in", columnList = "host_id, check_in_time"),
+    @Index(name = "idx_visitor_logs_location_status_check_in", columnList = "location_id, status, check_in_time"),
+    @Index(name = "idx_visitor_logs_check_in_id", columnList = "check_in_time, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class VisitorLog {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "visitor_id", nullable = false)
     private Visitor visitor;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "host_id", nullable = false)
     private User host;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "location_id", nullable = false)
     private Location location;
 
@@ -39,6 +46,10 @@ public class VisitorLog {
     @Column(nullable = false)
     private VisitorLogStatus status;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @CreatedDate
     private Instant createdAt;
 
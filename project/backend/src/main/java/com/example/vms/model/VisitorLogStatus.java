@@ -0,0 +1,20 @@
+package com.example.vms.model;
+
+public enum VisitorLogStatus {
+    EXPECTED,
+    CHECKED_IN,
+    CHECKED_OUT,
+    CANCELED;
+
+    public boolean isClosed() {
+        return this == CHECKED_OUT || this == CANCELED;
+    }
+
+    public boolean canTransitionTo(VisitorLogStatus target) {
+        return switch (this) {
+            case EXPECTED -> target == CHECKED_IN || target == CANCELED;
+            case CHECKED_IN -> target == CHECKED_OUT;
+            case CHECKED_OUT, CANCELED -> false;
+        };
+    }
+}
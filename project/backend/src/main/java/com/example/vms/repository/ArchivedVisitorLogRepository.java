@@ -0,0 +1,77 @@
+package com.example.vms.repository;
+
+import com.example.vms.dto.VisitorLogView;
+import com.example.vms.model.ArchivedVisitorLog;
+import com.example.vms.model.VisitorLogStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.example.vms.repository.VisitorLogRepository.STREAMING_FETCH_SIZE;
+
+public interface ArchivedVisitorLogRepository extends JpaRepository<ArchivedVisitorLog, UUID> {
+    String SELECT_VIEW =
+        "select new com.example.vms.dto.VisitorLogView(a.id, a.visitorId, a.visitorName, a.visitorCompany, " +
+        "a.hostId, a.hostName, a.locationId, a.locationName, a.checkInTime, a.checkOutTime, a.status) " +
+        "from ArchivedVisitorLog a ";
+
+    /**
+     * Copies the given hot logs, denormalized, into the archive. Joins are
+     * outer because the hot table no longer has foreign keys.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "visitor_logs_archive"))
+    @Query(value = "insert into visitor_logs_archive (id, visitor_id, visitor_name, visitor_company, host_id, " +
+                   "host_name, location_id, location_name, check_in_time, check_out_time, status, created_at, " +
+                   "archived_at) " +
+                   "select l.id, l.visitor_id, v.name, v.company, l.host_id, h.name, l.location_id, loc.name, " +
+                   "l.check_in_time, l.check_out_time, l.status, l.created_at, :archivedAt " +
+                   "from visitor_logs l " +
+                   "left join visitors v on v.id = l.visitor_id " +
+                   "left join users h on h.id = l.host_id " +
+                   "left join locations loc on loc.id = l.location_id " +
+                   "where l.id in :ids",
+           nativeQuery = true)
+    int copyFromHot(@Param("ids") Collection<UUID> ids, @Param("archivedAt") Instant archivedAt);
+
+    @Query(SELECT_VIEW + "where a.id = :id")
+    Optional<VisitorLogView> findViewById(@Param("id") UUID id);
+
+    @Query(SELECT_VIEW + "where a.hostId = :hostId order by a.checkInTime desc")
+    List<VisitorLogView> findViewsByHostId(@Param("hostId") UUID hostId);
+
+    @Query(SELECT_VIEW + "where a.status = :status order by a.checkInTime desc")
+    List<VisitorLogView> findViewsByStatus(@Param("status") VisitorLogStatus status);
+
+    @Query(SELECT_VIEW + "where a.checkInTime between :start and :end order by a.checkInTime asc")
+    List<VisitorLogView> findViewsByCheckInTimeBetween(@Param("start") Instant start, @Param("end") Instant end);
+
+    @Query(SELECT_VIEW + "order by a.checkInTime asc, a.id asc")
+    List<VisitorLogView> findFirstPage(Pageable pageable);
+
+    @Query(SELECT_VIEW +
+           "where a.checkInTime > :checkInTime or (a.checkInTime = :checkInTime and a.id > :id) " +
+           "order by a.checkInTime asc, a.id asc")
+    List<VisitorLogView> findPageAfter(@Param("checkInTime") Instant checkInTime, @Param("id") UUID id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE))
+    @Query(SELECT_VIEW + "order by a.checkInTime asc, a.id asc")
+    Stream<VisitorLogView> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE))
+    @Query(SELECT_VIEW + "where a.checkInTime >= :start and a.checkInTime < :end " +
+           "order by a.checkInTime asc, a.id asc")
+    Stream<VisitorLogView> streamByCheckInTimeBetween(@Param("start") Instant start, @Param("end") Instant end);
+}
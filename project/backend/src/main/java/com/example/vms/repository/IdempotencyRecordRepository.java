@@ -0,0 +1,30 @@
+package com.example.vms.repository;
+
+import com.example.vms.model.IdempotencyRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Plain insert: a concurrent duplicate fails on the primary key instead of being merged
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = "insert into idempotency_keys (idempotency_key, scope, response_body, created_at) " +
+                   "values (:key, :scope, :responseBody, :createdAt)",
+           nativeQuery = true)
+    void insert(@Param("key") String key,
+                @Param("scope") String scope,
+                @Param("responseBody") String responseBody,
+                @Param("createdAt") Instant createdAt);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
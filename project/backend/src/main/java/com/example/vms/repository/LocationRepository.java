@@ -0,0 +1,24 @@
+package com.example.vms.repository;
+
+import com.example.vms.model.Location;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface LocationRepository extends JpaRepository<Location, UUID> {
+    String ACTIVE_LOCATIONS_REGION = "locations.active";
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ACTIVE_LOCATIONS_REGION)
+    })
+    List<Location> findByActiveTrue();
+
+    @Query("select l.id from Location l")
+    List<UUID> findAllIds();
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.example.vms.repository;
+
+import com.example.vms.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface UserRepository extends JpaRepository<User, UUID> {
+    Optional<User> findByEmail(String email);
+    boolean existsByEmail(String email);
+
+    @Query("select u.id from User u")
+    List<UUID> findAllIds();
+
+    List<User> findAllByOrderByIdAsc(Pageable pageable);
+    List<User> findByIdGreaterThanOrderByIdAsc(UUID id, Pageable pageable);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = VisitorLogRepository.STREAMING_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from User u order by u.id asc")
+    Stream<User> streamAll();
+}
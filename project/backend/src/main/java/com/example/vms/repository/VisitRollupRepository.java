@@ -0,0 +1,50 @@
+package com.example.vms.repository;
+
+import com.example.vms.model.RollupDimension;
+import com.example.vms.model.RollupGranularity;
+import com.example.vms.model.VisitRollup;
+import com.example.vms.model.VisitRollupId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface VisitRollupRepository extends JpaRepository<VisitRollup, VisitRollupId> {
+
+    @Query("select r from VisitRollup r where r.id.dimension = :dimension and r.id.dimensionId = :dimensionId " +
+           "and r.id.granularity = :granularity and r.id.bucketStart >= :start and r.id.bucketStart < :end " +
+           "order by r.id.bucketStart asc")
+    List<VisitRollup> findRange(@Param("dimension") RollupDimension dimension,
+                                @Param("dimensionId") UUID dimensionId,
+                                @Param("granularity") RollupGranularity granularity,
+                                @Param("start") Instant start,
+                                @Param("end") Instant end);
+
+    // Without declared spaces Hibernate would evict every second-level cache region
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "visit_rollups"))
+    @Query(value = "insert into visit_rollups (dimension, dimension_id, granularity, bucket_start, " +
+                   "check_ins, completed_visits, total_dwell_seconds, peak_occupancy) " +
+                   "values (:dimension, :dimensionId, :granularity, :bucketStart, " +
+                   ":checkIns, :completedVisits, :dwellSeconds, :peakOccupancy) " +
+                   "on duplicate key update check_ins = check_ins + values(check_ins), " +
+                   "completed_visits = completed_visits + values(completed_visits), " +
+                   "total_dwell_seconds = total_dwell_seconds + values(total_dwell_seconds), " +
+                   "peak_occupancy = greatest(peak_occupancy, values(peak_occupancy))",
+           nativeQuery = true)
+    void increment(@Param("dimension") String dimension,
+                   @Param("dimensionId") UUID dimensionId,
+                   @Param("granularity") String granularity,
+                   @Param("bucketStart") Instant bucketStart,
+                   @Param("checkIns") long checkIns,
+                   @Param("completedVisits") long completedVisits,
+                   @Param("dwellSeconds") long dwellSeconds,
+                   @Param("peakOccupancy") int peakOccupancy);
+}
@@ -0,0 +1,100 @@
+package com.example.vms.repository;
+
+import com.example.vms.dto.VisitorLogView;
+import com.example.vms.model.VisitorLog;
+import com.example.vms.model.VisitorLogStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface VisitorLogRepository extends JpaRepository<VisitorLog, UUID> {
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the result set
+    String STREAMING_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
+    @EntityGraph(attributePaths = {"visitor", "visitor.host", "host", "location"})
+    Optional<VisitorLog> findWithGraphById(UUID id);
+
+    @EntityGraph(attributePaths = {"visitor", "visitor.host", "host", "location"})
+    List<VisitorLog> findWithGraphByIdIn(Collection<UUID> ids);
+
+    /**
+     * Moves the log to {@code to} only if it is still in {@code from}; returns 0
+     * when another transaction got there first.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update VisitorLog l set l.status = :to, l.checkInTime = :checkInTime, l.checkOutTime = :checkOutTime, " +
+           "l.updatedAt = :updatedAt, l.version = l.version + 1 where l.id = :id and l.status = :from")
+    int compareAndSetStatus(@Param("id") UUID id,
+                            @Param("from") VisitorLogStatus from,
+                            @Param("to") VisitorLogStatus to,
+                            @Param("checkInTime") Instant checkInTime,
+                            @Param("checkOutTime") Instant checkOutTime,
+                            @Param("updatedAt") Instant updatedAt);
+
+    @Query(VisitorLogView.SELECT + "where h.id = :hostId order by l.checkInTime desc")
+    List<VisitorLogView> findViewsByHostId(@Param("hostId") UUID hostId);
+
+    @Query(VisitorLogView.SELECT + "where l.status = :status order by l.checkInTime desc")
+    List<VisitorLogView> findViewsByStatus(@Param("status") VisitorLogStatus status);
+
+    @Query(VisitorLogView.SELECT + "where loc.id = :locationId and l.status = :status " +
+           "and l.checkInTime >= :start and l.checkInTime < :end order by l.checkInTime asc")
+    List<VisitorLogView> findViewsByLocationAndStatusBetween(@Param("locationId") UUID locationId,
+                                                             @Param("status") VisitorLogStatus status,
+                                                             @Param("start") Instant start,
+                                                             @Param("end") Instant end);
+
+    @Query(VisitorLogView.SELECT + "where l.checkInTime between :start and :end order by l.checkInTime asc")
+    List<VisitorLogView> findViewsByCheckInTimeBetween(@Param("start") Instant start, @Param("end") Instant end);
+
+    @Query(VisitorLogView.SELECT + "order by l.checkInTime asc, l.id asc")
+    List<VisitorLogView> findFirstPage(Pageable pageable);
+
+    @Query(VisitorLogView.SELECT +
+           "where l.checkInTime > :checkInTime or (l.checkInTime = :checkInTime and l.id > :id) " +
+           "order by l.checkInTime asc, l.id asc")
+    List<VisitorLogView> findPageAfter(@Param("checkInTime") Instant checkInTime, @Param("id") UUID id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE))
+    @Query(VisitorLogView.SELECT + "order by l.checkInTime asc, l.id asc")
+    Stream<VisitorLogView> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE))
+    @Query(VisitorLogView.SELECT + "where l.checkInTime >= :start and l.checkInTime < :end " +
+           "order by l.checkInTime asc, l.id asc")
+    Stream<VisitorLogView> streamByCheckInTimeBetween(@Param("start") Instant start, @Param("end") Instant end);
+
+    @Query("select l.id from VisitorLog l where l.status in :statuses and l.checkInTime < :cutoff " +
+           "order by l.checkInTime asc")
+    List<UUID> findIdsForArchival(@Param("statuses") Collection<VisitorLogStatus> statuses,
+                                  @Param("cutoff") Instant cutoff,
+                                  Pageable pageable);
+
+    @Modifying
+    @Query("delete from VisitorLog l where l.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
+
+    boolean existsByIdAndHostId(UUID id, UUID hostId);
+
+    @Query("select l.status from VisitorLog l where l.id = :id")
+    Optional<VisitorLogStatus> findStatusById(@Param("id") UUID id);
+
+    boolean existsByVisitorId(UUID visitorId);
+
+    boolean existsByHostId(UUID hostId);
+
+    boolean existsByLocationId(UUID locationId);
+}
@@ -0,0 +1,58 @@
+package com.example.vms.repository;
+
+import com.example.vms.dto.VisitorView;
+import com.example.vms.model.Visitor;
+import com.example.vms.model.VisitorStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface VisitorRepository extends JpaRepository<Visitor, UUID> {
+    @EntityGraph(attributePaths = "host")
+    Optional<Visitor> findWithHostById(UUID id);
+
+    @Query(VisitorView.SELECT + "where v.id = :id")
+    Optional<VisitorView> findViewById(@Param("id") UUID id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Visitor v set v.status = :status, v.updatedAt = :updatedAt, v.version = v.version + 1 where v.id = :id")
+    int updateStatusById(@Param("id") UUID id, @Param("status") VisitorStatus status,
+                         @Param("updatedAt") Instant updatedAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Visitor v set v.status = :status, v.updatedAt = :updatedAt, v.version = v.version + 1 where v.id in :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<UUID> ids, @Param("status") VisitorStatus status,
+                           @Param("updatedAt") Instant updatedAt);
+
+    @Query(VisitorView.SELECT + "where v.id in :ids")
+    List<VisitorView> findViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query(VisitorView.SELECT + "where h.id = :hostId order by v.createdAt desc")
+    List<VisitorView> findViewsByHostId(@Param("hostId") UUID hostId);
+
+    @Query(VisitorView.SELECT + "where v.status = :status order by v.createdAt desc")
+    List<VisitorView> findViewsByStatus(@Param("status") VisitorStatus status);
+
+    @Query(VisitorView.SELECT + "order by v.id asc")
+    List<VisitorView> findFirstPage(Pageable pageable);
+
+    @Query(VisitorView.SELECT + "where v.id > :id order by v.id asc")
+    List<VisitorView> findPageAfter(@Param("id") UUID id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = VisitorLogRepository.STREAMING_FETCH_SIZE))
+    @Query(VisitorView.SELECT + "order by v.id asc")
+    Stream<VisitorView> streamAll();
+}
@@ -0,0 +1,35 @@
+package com.example.vms.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable int array used for posting lists; doc ids are appended in
+ * increasing order, so each list stays sorted and can be binary searched.
+ */
+final class IntList {
+    private int[] values = new int[4];
+    private int size;
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsSorted(int value) {
+        return Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    int[] distinct() {
+        return Arrays.stream(values, 0, size).distinct().toArray();
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.vms.search;
+
+public record SearchMatch<K>(K key, double score) {
+}
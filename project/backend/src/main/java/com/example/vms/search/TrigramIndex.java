@@ -0,0 +1,174 @@
+package com.example.vms.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram inverted index over a few text fields per document.
+ * A query matches documents sharing at least {@code minSimilarity} of its
+ * trigrams, which tolerates typos in longer words; candidates are gathered
+ * from the rarest posting lists only (any match must appear in one of them)
+ * and then re-ranked with field-weighted prefix and substring bonuses.
+ * Updates append a new doc id and tombstone the old one; the owner rebuilds
+ * the index once tombstones dominate.
+ */
+final class TrigramIndex<K> {
+    static final int MAX_CANDIDATES = 1000;
+
+    private final double minSimilarity;
+    private final double[] fieldWeights;
+    private final int digitField;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, IntList> postings = new HashMap<>();
+    private final Map<K, Integer> docIds = new HashMap<>();
+    private final List<K> keys = new ArrayList<>();
+    private final List<String[]> fields = new ArrayList<>();
+    private int deleted;
+
+    /**
+     * @param fieldWeights rerank weight per field, in the order fields are passed to {@link #put}
+     * @param digitField   index of the field matched as digits only (a phone number), or -1
+     */
+    TrigramIndex(double minSimilarity, double[] fieldWeights, int digitField) {
+        this.minSimilarity = minSimilarity;
+        this.fieldWeights = fieldWeights;
+        this.digitField = digitField;
+    }
+
+    void put(K key, String... values) {
+        String[] normalized = new String[values.length];
+        IntList grams = new IntList();
+        for (int i = 0; i < values.length; i++) {
+            normalized[i] = i == digitField ? Trigrams.digits(values[i]) : Trigrams.normalize(values[i]);
+            int[] fieldGrams = i == digitField
+                ? Trigrams.ofSubstrings(normalized[i])
+                : Trigrams.ofWords(normalized[i], false);
+            for (int gram : fieldGrams) {
+                grams.add(gram);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            int docId = keys.size();
+            keys.add(key);
+            fields.add(normalized);
+            docIds.put(key, docId);
+            for (int gram : grams.distinct()) {
+                postings.computeIfAbsent(gram, g -> new IntList()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    double tombstoneRatio() {
+        lock.readLock().lock();
+        try {
+            return keys.isEmpty() ? 0 : (double) deleted / keys.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked matches, best first, capped at {@link #MAX_CANDIDATES}.
+     */
+    List<SearchMatch<K>> search(String query) {
+        boolean numeric = Trigrams.isNumeric(query);
+        String normalized = numeric ? Trigrams.digits(query) : Trigrams.normalize(query);
+        int[] grams = numeric ? Trigrams.ofSubstrings(normalized) : Trigrams.ofWords(normalized, true);
+        if (grams.length == 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<IntList> lists = new ArrayList<>(grams.length);
+            for (int gram : grams) {
+                lists.add(postings.getOrDefault(gram, new IntList()));
+            }
+            lists.sort(Comparator.comparingInt(IntList::size));
+
+            int required = Math.max(1, (int) Math.ceil(grams.length * minSimilarity));
+            int seedLists = grams.length - required + 1;
+            Map<Integer, Integer> counts = new HashMap<>();
+            for (int i = 0; i < seedLists; i++) {
+                IntList list = lists.get(i);
+                for (int j = 0; j < list.size(); j++) {
+                    counts.merge(list.get(j), 1, Integer::sum);
+                }
+            }
+
+            List<SearchMatch<K>> matches = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> candidate : counts.entrySet()) {
+                int docId = candidate.getKey();
+                K key = keys.get(docId);
+                if (key == null) {
+                    continue;
+                }
+                int shared = candidate.getValue();
+                for (int i = seedLists; i < lists.size(); i++) {
+                    if (lists.get(i).containsSorted(docId)) {
+                        shared++;
+                    }
+                }
+                if (shared >= required) {
+                    double similarity = (double) shared / grams.length;
+                    matches.add(new SearchMatch<>(key, similarity + bonus(fields.get(docId), normalized, numeric)));
+                }
+            }
+            matches.sort(Comparator.comparingDouble(SearchMatch<K>::score).reversed());
+            return matches.size() > MAX_CANDIDATES ? List.copyOf(matches.subList(0, MAX_CANDIDATES)) : matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double bonus(String[] docFields, String query, boolean numeric) {
+        double bonus = 0;
+        for (int i = 0; i < docFields.length; i++) {
+            if (numeric != (i == digitField)) {
+                continue;
+            }
+            String field = docFields[i];
+            int at = field.indexOf(query);
+            if (at == 0) {
+                bonus += fieldWeights[i];
+            } else if (at > 0) {
+                bonus += fieldWeights[i] * (field.charAt(at - 1) == ' ' ? 0.75 : 0.5);
+            }
+        }
+        return bonus;
+    }
+
+    private void removeLocked(K key) {
+        Integer docId = docIds.remove(key);
+        if (docId != null) {
+            keys.set(docId, null);
+            fields.set(docId, null);
+            deleted++;
+        }
+    }
+}
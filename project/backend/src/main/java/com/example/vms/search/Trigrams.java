@@ -0,0 +1,76 @@
+package com.example.vms.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Text normalization and trigram extraction shared by indexing and queries.
+ * Words are padded pg_trgm style (two leading blanks, one trailing) so that
+ * short prefixes still produce trigrams; trigrams are packed into an int.
+ */
+final class Trigrams {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+    private static final char PAD = ' ';
+
+    private Trigrams() {
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    static String digits(String text) {
+        return text == null ? "" : NON_DIGITS.matcher(text).replaceAll("");
+    }
+
+    /**
+     * True for phone-like queries, which are matched as digit substrings.
+     */
+    static boolean isNumeric(String query) {
+        String digits = digits(query);
+        return digits.length() >= 3 && digits.length() * 2 > query.replace(" ", "").length();
+    }
+
+    /**
+     * Trigrams of every word in normalized text; when {@code prefix} is set
+     * the last word is left open-ended so it matches longer words.
+     */
+    static int[] ofWords(String normalized, boolean prefix) {
+        IntList grams = new IntList();
+        String[] words = normalized.split(" ");
+        for (int w = 0; w < words.length; w++) {
+            if (words[w].isEmpty()) {
+                continue;
+            }
+            boolean open = prefix && w == words.length - 1;
+            addGrams(grams, PAD + (PAD + words[w]) + (open ? "" : String.valueOf(PAD)));
+        }
+        return grams.distinct();
+    }
+
+    /**
+     * Unpadded trigrams, for substring matching of digit runs.
+     */
+    static int[] ofSubstrings(String text) {
+        IntList grams = new IntList();
+        addGrams(grams, text);
+        return grams.distinct();
+    }
+
+    private static void addGrams(IntList grams, String padded) {
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(pack(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2)));
+        }
+    }
+
+    private static int pack(char a, char b, char c) {
+        return (a & 0x3FF) << 20 | (b & 0x3FF) << 10 | (c & 0x3FF);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.vms.search;
+
+import com.example.vms.dto.VisitorView;
+import com.example.vms.model.Visitor;
+import com.example.vms.repository.VisitorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Trigram index over visitor name, email, company and phone. Loaded from the
+ * database at startup and kept current by VisitorService after each commit;
+ * it is rebuilt off-peak once updates have left too many dead entries.
+ */
+@Slf4j
+@Component
+public class VisitorSearchIndex {
+    // name, email, company, phone
+    private static final double[] FIELD_WEIGHTS = {1.0, 0.6, 0.4, 0.8};
+    private static final int PHONE_FIELD = 3;
+
+    private final VisitorRepository visitorRepository;
+    private final double minSimilarity;
+    private final double rebuildTombstoneRatio;
+
+    private volatile TrigramIndex<UUID> index;
+
+    // While a rebuild streams its snapshot, live writes go to both indexes and
+    // the visitors they touch are skipped from the (older) snapshot
+    private volatile TrigramIndex<UUID> building;
+    private final Set<UUID> touchedWhileBuilding = ConcurrentHashMap.newKeySet();
+
+    public VisitorSearchIndex(VisitorRepository visitorRepository,
+                              @Value("${search.visitors.min-similarity:0.5}") double minSimilarity,
+                              @Value("${search.visitors.rebuild-tombstone-ratio:0.3}") double rebuildTombstoneRatio) {
+        this.visitorRepository = visitorRepository;
+        this.minSimilarity = minSimilarity;
+        this.rebuildTombstoneRatio = rebuildTombstoneRatio;
+        // Serves writes and searches until the first rebuild replaces it
+        this.index = new TrigramIndex<>(minSimilarity, FIELD_WEIGHTS, PHONE_FIELD);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        TrigramIndex<UUID> fresh = new TrigramIndex<>(minSimilarity, FIELD_WEIGHTS, PHONE_FIELD);
+        touchedWhileBuilding.clear();
+        building = fresh;
+        try (Stream<VisitorView> visitors = visitorRepository.streamAll()) {
+            visitors
+                .filter(v -> !touchedWhileBuilding.contains(v.id()))
+                .forEach(v -> fresh.put(v.id(), v.name(), v.email(), v.company(), v.phone()));
+        } finally {
+            building = null;
+        }
+        index = fresh;
+        touchedWhileBuilding.clear();
+        log.info("Built visitor search index: {} visitors in {} ms",
+            fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(cron = "${search.visitors.compaction-cron:0 15 4 * * *}")
+    @Transactional(readOnly = true)
+    public void compactIfNeeded() {
+        if (index.tombstoneRatio() > rebuildTombstoneRatio) {
+            rebuild();
+        }
+    }
+
+    public void index(Visitor visitor) {
+        TrigramIndex<UUID> pending = building;
+        if (pending != null) {
+            touchedWhileBuilding.add(visitor.getId());
+            pending.put(visitor.getId(), visitor.getName(), visitor.getEmail(), visitor.getCompany(), visitor.getPhone());
+        }
+        index.put(visitor.getId(), visitor.getName(), visitor.getEmail(), visitor.getCompany(), visitor.getPhone());
+    }
+
+    public void remove(UUID visitorId) {
+        TrigramIndex<UUID> pending = building;
+        if (pending != null) {
+            touchedWhileBuilding.add(visitorId);
+            pending.remove(visitorId);
+        }
+        index.remove(visitorId);
+    }
+
+    /**
+     * Visitor ids ranked by relevance, best first.
+     */
+    public List<SearchMatch<UUID>> search(String query) {
+        return index.search(query);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.vms.security;
+
+import com.example.vms.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class CustomUserDetailsService implements UserDetailsService {
+    private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserDetails loadUserByUsername(String email) {
+        return userRepository.findByEmail(email)
+            .map(UserPrincipal::create)
+            .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    }
+
+    public UserPrincipal loadUserById(UUID id) {
+        return principalCache.get(id, userId -> userRepository.findById(userId)
+            .map(UserPrincipal::create)
+            .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId)));
+    }
+}
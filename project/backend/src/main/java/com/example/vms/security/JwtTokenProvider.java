@@ -0,0 +1,141 @@
+package com.example.vms.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+
+@Component
+public class JwtTokenProvider {
+
+    @Value("${jwt.secret}")
+    private String jwtSecret;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationInMs;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheSize;
+
+    private Key key;
+
+    private JwtParser parser;
+
+    // Keyed by a SHA-256 digest of the token so raw bearer tokens are never retained
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(verifiedCacheSize)
+            .expireAfter(new UntilTokenExpiry())
+            .recordStats()
+            .build();
+    }
+
+    public String generateToken(Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
+
+        return Jwts.builder()
+                .setSubject(userPrincipal.getId().toString())
+                .setIssuedAt(new Date())
+                .setExpiration(expiryDate)
+                .signWith(key)
+                .compact();
+    }
+
+    /**
+     * Verifies the token once and returns its subject and expiry. Tokens seen
+     * recently are answered from the verified-token cache until they expire,
+     * skipping signature verification and claims parsing.
+     */
+    public Optional<VerifiedToken> parse(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null) {
+            return cached.isExpired(Instant.now()) ? Optional.empty() : Optional.of(cached);
+        }
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date expiration = claims.getExpiration();
+            VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(), expiration == null ? null : expiration.toInstant());
+            verifiedTokens.put(digest, verified);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    public String getUserIdFromJWT(String token) {
+        return parse(token)
+            .map(VerifiedToken::subject)
+            .orElseThrow(() -> new MalformedJwtException("Invalid JWT token"));
+    }
+
+    public boolean validateToken(String authToken) {
+        return parse(authToken).isPresent();
+    }
+
+    public CacheStats verifiedCacheStats() {
+        return verifiedTokens.stats();
+    }
+
+    public long verifiedCacheSize() {
+        return verifiedTokens.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return NO_EXPIRY;
+            }
+            long millisLeft = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return Math.max(0, millisLeft) * 1_000_000L;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
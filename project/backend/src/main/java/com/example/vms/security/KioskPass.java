@@ -0,0 +1,7 @@
+package com.example.vms.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record KioskPass(String token, UUID visitorLogId, UUID locationId, Instant notBefore, Instant notAfter) {
+}
@@ -0,0 +1,147 @@
+package com.example.vms.security;
+
+import com.example.vms.model.VisitorLog;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Issues and verifies compact kiosk passes: an HMAC-SHA256 over the visitor
+ * log id, location id and validity window, encoded as {@code payload.mac} in
+ * URL-safe base64. Verification needs no database access.
+ */
+@Component
+public class KioskPassSigner {
+    private static final int PAYLOAD_BYTES = 16 + 16 + 8 + 8;
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAX_POOLED_MACS = 64;
+
+    @Value("${kiosk.pass.secret}")
+    private String secret;
+
+    @Value("${kiosk.pass.valid-before:2h}")
+    private Duration validBefore;
+
+    @Value("${kiosk.pass.valid-after:12h}")
+    private Duration validAfter;
+
+    private SecretKeySpec key;
+
+    // Requests run on short-lived virtual threads, so a ThreadLocal would never
+    // be reused; initialised instances are pooled instead and topped up by
+    // cloning the keyed prototype, which skips the provider lookup and key setup
+    private Mac prototype;
+    private final Queue<Mac> macs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    @PostConstruct
+    public void init() {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.prototype = newMac();
+    }
+
+    public KioskPass issue(VisitorLog visitorLog) {
+        Instant expected = visitorLog.getCheckInTime();
+        return issue(visitorLog.getId(), visitorLog.getLocation().getId(),
+            expected.minus(validBefore), expected.plus(validAfter));
+    }
+
+    public KioskPass issue(UUID visitorLogId, UUID locationId, Instant notBefore, Instant notAfter) {
+        ByteBuffer payload = ByteBuffer.allocate(PAYLOAD_BYTES)
+            .putLong(visitorLogId.getMostSignificantBits())
+            .putLong(visitorLogId.getLeastSignificantBits())
+            .putLong(locationId.getMostSignificantBits())
+            .putLong(locationId.getLeastSignificantBits())
+            .putLong(notBefore.getEpochSecond())
+            .putLong(notAfter.getEpochSecond());
+        byte[] bytes = payload.array();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String token = encoder.encodeToString(bytes) + "." + encoder.encodeToString(sign(bytes));
+        return new KioskPass(token, visitorLogId, locationId, notBefore, notAfter);
+    }
+
+    /**
+     * Returns the pass if the signature is valid and {@code now} falls inside
+     * its validity window.
+     */
+    public Optional<KioskPass> verify(String token, Instant now) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return Optional.empty();
+        }
+        byte[] payload;
+        byte[] mac;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payload = decoder.decode(token.substring(0, dot));
+            mac = decoder.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+        if (payload.length != PAYLOAD_BYTES || !MessageDigest.isEqual(sign(payload), mac)) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        UUID visitorLogId = new UUID(buffer.getLong(), buffer.getLong());
+        UUID locationId = new UUID(buffer.getLong(), buffer.getLong());
+        Instant notBefore = Instant.ofEpochSecond(buffer.getLong());
+        Instant notAfter = Instant.ofEpochSecond(buffer.getLong());
+        if (now.isBefore(notBefore) || now.isAfter(notAfter)) {
+            return Optional.empty();
+        }
+        return Optional.of(new KioskPass(token, visitorLogId, locationId, notBefore, notAfter));
+    }
+
+    private byte[] sign(byte[] payload) {
+        Mac mac = macs.poll();
+        if (mac == null) {
+            mac = copyOfPrototype();
+        } else {
+            pooled.decrementAndGet();
+        }
+        byte[] signature = mac.doFinal(payload);
+        if (pooled.incrementAndGet() <= MAX_POOLED_MACS) {
+            macs.offer(mac);
+        } else {
+            pooled.decrementAndGet();
+        }
+        return signature;
+    }
+
+    private Mac copyOfPrototype() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException ex) {
+            return newMac();
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Cannot initialise kiosk pass MAC", ex);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.vms.security;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Remembers single-use ids until their expiry. The key space is split over
+ * independently locked stripes so concurrent kiosks rarely contend, and each
+ * stripe sweeps out expired entries as it fills.
+ */
+public class StripedReplayGuard {
+    private final Stripe[] stripes;
+    private final int sweepThreshold;
+
+    public StripedReplayGuard(int stripeCount, int sweepThreshold) {
+        this.stripes = new Stripe[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.sweepThreshold = sweepThreshold;
+    }
+
+    /**
+     * Marks the id as used. Returns {@code false} if it was already used and
+     * has not yet expired.
+     */
+    public boolean tryUse(UUID id, Instant expiresAt, Instant now) {
+        Stripe stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            Instant existing = stripe.used.get(id);
+            if (existing != null && existing.isAfter(now)) {
+                return false;
+            }
+            if (stripe.used.size() >= sweepThreshold) {
+                stripe.sweep(now);
+            }
+            stripe.used.put(id, expiresAt);
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void release(UUID id) {
+        Stripe stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            stripe.used.remove(id);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeFor(UUID id) {
+        int hash = id.hashCode();
+        hash ^= hash >>> 16;
+        return stripes[hash & (stripes.length - 1)];
+    }
+
+    // ReentrantLock rather than synchronized so virtual threads are not pinned
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<UUID, Instant> used = new HashMap<>();
+
+        private void sweep(Instant now) {
+            Iterator<Instant> expiries = used.values().iterator();
+            while (expiries.hasNext()) {
+                if (!expiries.next().isAfter(now)) {
+                    expiries.remove();
+                }
+            }
+        }
+    }
+}
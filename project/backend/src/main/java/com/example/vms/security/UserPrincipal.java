@@ -1,6 +1,7 @@
 package com.example.vms.security;
 
 import com.example.vms.model.User;
+import com.example.vms.model.UserRole;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
@@ -15,19 +16,39 @@ import java.util.UUID;
 @Getter
 public class UserPrincipal implements UserDetails {
     private UUID id;
+    private String name;
     private String email;
     private String password;
+    private UserRole role;
+    private String department;
     private Collection<? extends GrantedAuthority> authorities;
 
     public static UserPrincipal create(User user) {
         return new UserPrincipal(
             user.getId(),
+            user.getName(),
             user.getEmail(),
             user.getPassword(),
+            user.getRole(),
+            user.getDepartment(),
             Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
         );
     }
 
+    /**
+     * Detached view of the user backing this principal, for callers that only
+     * need identity and role and should not pay for another lookup.
+     */
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(email);
+        user.setRole(role);
+        user.setDepartment(department);
+        return user;
+    }
+
     @Override
     public String getUsername() {
         return email;
@@ -52,4 +73,4 @@ public class UserPrincipal implements UserDetails {
     public boolean isEnabled() {
         return true;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.example.vms.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of principals resolved from JWT subjects so that authenticated
+ * requests do not hit the users table. Entries expire after a fixed TTL and are
+ * invalidated explicitly when a user changes.
+ */
+@Component
+public class UserPrincipalCache {
+    private final Cache<UUID, UserPrincipal> cache;
+
+    public UserPrincipalCache(
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    public UserPrincipal get(UUID userId, Function<UUID, UserPrincipal> loader) {
+        return cache.get(userId, loader);
+    }
+
+    public void invalidate(UUID userId) {
+        cache.invalidate(userId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
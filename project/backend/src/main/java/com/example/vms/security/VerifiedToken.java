@@ -0,0 +1,9 @@
+package com.example.vms.security;
+
+import java.time.Instant;
+
+public record VerifiedToken(String subject, Instant expiresAt) {
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
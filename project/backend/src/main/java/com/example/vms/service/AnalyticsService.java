@@ -0,0 +1,160 @@
+package com.example.vms.service;
+
+import com.example.vms.dto.RollupView;
+import com.example.vms.model.RollupDimension;
+import com.example.vms.model.RollupGranularity;
+import com.example.vms.model.VisitRollupId;
+import com.example.vms.model.VisitorLog;
+import com.example.vms.repository.VisitRollupRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+/**
+ * Maintains hourly and daily visit rollups per location and per host. Live
+ * transitions increment the current buckets with a single upsert each, and
+ * the backfill rebuilds counts for a range straight from visitor_logs and
+ * visitor_logs_archive.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalyticsService {
+    private final VisitRollupRepository visitRollupRepository;
+    private final EntityManager entityManager;
+
+    @Transactional
+    public void recordCheckIn(VisitorLog visitorLog, int locationHeadcount) {
+        recordCheckIns(List.of(visitorLog), locationId -> locationHeadcount);
+    }
+
+    @Transactional
+    public void recordCheckOut(VisitorLog visitorLog) {
+        recordCheckOuts(List.of(visitorLog));
+    }
+
+    /**
+     * Folds the check-ins into one delta per rollup bucket before writing, so a
+     * group arrival costs one upsert per touched bucket rather than per visitor.
+     */
+    @Transactional
+    public void recordCheckIns(Collection<VisitorLog> visitorLogs, ToIntFunction<UUID> locationHeadcount) {
+        Map<VisitRollupId, RollupDelta> deltas = new HashMap<>();
+        for (VisitorLog visitorLog : visitorLogs) {
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                Instant bucket = granularity.bucketOf(visitorLog.getCheckInTime());
+                UUID locationId = visitorLog.getLocation().getId();
+                RollupDelta location = delta(deltas, RollupDimension.LOCATION, locationId, granularity, bucket);
+                location.checkIns++;
+                location.peakOccupancy = Math.max(location.peakOccupancy, locationHeadcount.applyAsInt(locationId));
+                delta(deltas, RollupDimension.HOST, visitorLog.getHost().getId(), granularity, bucket).checkIns++;
+            }
+        }
+        write(deltas);
+    }
+
+    @Transactional
+    public void recordCheckOuts(Collection<VisitorLog> visitorLogs) {
+        Map<VisitRollupId, RollupDelta> deltas = new HashMap<>();
+        for (VisitorLog visitorLog : visitorLogs) {
+            long dwellSeconds = Math.max(0,
+                Duration.between(visitorLog.getCheckInTime(), visitorLog.getCheckOutTime()).getSeconds());
+            // Completed visits are attributed to the bucket the visit started in
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                Instant bucket = granularity.bucketOf(visitorLog.getCheckInTime());
+                for (RollupDelta delta : List.of(
+                        delta(deltas, RollupDimension.LOCATION, visitorLog.getLocation().getId(), granularity, bucket),
+                        delta(deltas, RollupDimension.HOST, visitorLog.getHost().getId(), granularity, bucket))) {
+                    delta.completedVisits++;
+                    delta.dwellSeconds += dwellSeconds;
+                }
+            }
+        }
+        write(deltas);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RollupView> getRollups(RollupDimension dimension, UUID dimensionId,
+                                       RollupGranularity granularity, Instant start, Instant end) {
+        return visitRollupRepository.findRange(dimension, dimensionId, granularity,
+                granularity.bucketOf(start), end).stream()
+            .map(RollupView::from)
+            .toList();
+    }
+
+    /**
+     * Recomputes visit counts and dwell totals for whole days in the range from
+     * visitor_logs and the archive, which holds the closed logs moved out past
+     * the retention horizon. Aggregation runs inside the database, so heap use does not
+     * depend on the amount of history. Peak occupancy is only tracked live and
+     * is left untouched.
+     */
+    @Transactional
+    public int backfill(Instant start, Instant end) {
+        Instant from = start.truncatedTo(ChronoUnit.DAYS);
+        Instant to = end.truncatedTo(ChronoUnit.DAYS).plus(1, ChronoUnit.DAYS);
+        int rows = 0;
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            for (RollupDimension dimension : RollupDimension.values()) {
+                rows += entityManager.createNativeQuery(backfillSql(dimension, granularity))
+                    .setHint(HibernateHints.HINT_NATIVE_SPACES, "visit_rollups")
+                    .setParameter("start", from)
+                    .setParameter("end", to)
+                    .executeUpdate();
+            }
+        }
+        log.info("Backfilled visit rollups from {} to {}: {} rows written", from, to, rows);
+        return rows;
+    }
+
+    private static RollupDelta delta(Map<VisitRollupId, RollupDelta> deltas, RollupDimension dimension,
+                                     UUID dimensionId, RollupGranularity granularity, Instant bucket) {
+        return deltas.computeIfAbsent(new VisitRollupId(dimension, dimensionId, granularity, bucket),
+            id -> new RollupDelta());
+    }
+
+    private void write(Map<VisitRollupId, RollupDelta> deltas) {
+        deltas.forEach((id, delta) -> visitRollupRepository.increment(
+            id.getDimension().name(), id.getDimensionId(), id.getGranularity().name(), id.getBucketStart(),
+            delta.checkIns, delta.completedVisits, delta.dwellSeconds, delta.peakOccupancy));
+    }
+
+    private static String backfillSql(RollupDimension dimension, RollupGranularity granularity) {
+        String bucket = "date_format(check_in_time, '" + granularity.sqlBucketFormat() + "')";
+        return "insert into visit_rollups (dimension, dimension_id, granularity, bucket_start, " +
+               "check_ins, completed_visits, total_dwell_seconds, peak_occupancy) " +
+               "select '" + dimension.name() + "', " + dimension.column() + ", '" + granularity.name() + "', " +
+               bucket + ", count(*), sum(check_out_time is not null), " +
+               "coalesce(sum(timestampdiff(second, check_in_time, check_out_time)), 0), 0 " +
+               "from (" + visitsIn("visitor_logs") + " union all " + visitsIn("visitor_logs_archive") + ") logs " +
+               "group by " + dimension.column() + ", " + bucket + " " +
+               "on duplicate key update check_ins = values(check_ins), " +
+               "completed_visits = values(completed_visits), " +
+               "total_dwell_seconds = values(total_dwell_seconds)";
+    }
+
+    private static String visitsIn(String table) {
+        return "select host_id, location_id, check_in_time, check_out_time from " + table + " " +
+               "where status in ('CHECKED_IN', 'CHECKED_OUT') and check_in_time >= :start and check_in_time < :end";
+    }
+
+    private static final class RollupDelta {
+        private long checkIns;
+        private long completedVisits;
+        private long dwellSeconds;
+        private int peakOccupancy;
+    }
+}
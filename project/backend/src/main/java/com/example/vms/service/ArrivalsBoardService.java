@@ -0,0 +1,210 @@
+package com.example.vms.service;
+
+import com.example.vms.dto.ArrivalsBoardView;
+import com.example.vms.dto.VisitorLogEvent;
+import com.example.vms.dto.VisitorLogView;
+import com.example.vms.model.Location;
+import com.example.vms.model.VisitorLogStatus;
+import com.example.vms.repository.LocationRepository;
+import com.example.vms.repository.VisitorLogRepository;
+import com.example.vms.util.TransactionCallbacks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Precomputed per-location boards of the day's expected arrivals. Each board
+ * is built once its location's local clock passes {@code arrivals.build-at}
+ * and is then kept current from committed visitor log events, so lobby
+ * screens polling it are served from memory.
+ */
+@Slf4j
+@Service
+public class ArrivalsBoardService {
+    private final VisitorLogRepository visitorLogRepository;
+    private final LocationRepository locationRepository;
+    private final LocalTime buildAt;
+
+    private final ConcurrentMap<UUID, LocationBoard> boards = new ConcurrentHashMap<>();
+    // Seeded from the clock so ETags handed out before a restart are not reused
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis());
+
+    public ArrivalsBoardService(VisitorLogRepository visitorLogRepository,
+                                LocationRepository locationRepository,
+                                @Value("${arrivals.build-at:04:00}") String buildAt) {
+        this.visitorLogRepository = visitorLogRepository;
+        this.locationRepository = locationRepository;
+        this.buildAt = LocalTime.parse(buildAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildAll() {
+        boards.clear();
+        for (Location location : locationRepository.findAll()) {
+            ZoneId zone = ZoneId.of(location.getTimeZone());
+            rebuild(boards.computeIfAbsent(location.getId(), id -> new LocationBoard(id, zone)), LocalDate.now(zone));
+        }
+        log.info("Built arrivals boards for {} locations", boards.size());
+    }
+
+    /**
+     * Rolls each board over to the new local day once that location reaches
+     * the configured build time. Until then the previous day's board is served.
+     */
+    @Scheduled(fixedDelayString = "${arrivals.check-interval:PT1M}")
+    @Transactional(readOnly = true)
+    public void rollOver() {
+        for (LocationBoard board : boards.values()) {
+            LocalDate today = LocalDate.now(board.zone);
+            if (board.current.date().isBefore(today) && !LocalTime.now(board.zone).isBefore(buildAt)) {
+                rebuild(board, today);
+            }
+        }
+    }
+
+    /**
+     * Reloads every board for the day it currently shows, for writes that
+     * bypass the visitor log events such as bulk imports.
+     */
+    @Transactional(readOnly = true)
+    public void reload() {
+        for (LocationBoard board : boards.values()) {
+            LocalDate date = board.current.date();
+            rebuild(board, date.equals(LocalDate.MIN) ? LocalDate.now(board.zone) : date);
+        }
+    }
+
+    public ArrivalsBoardView getBoard(UUID locationId) {
+        LocationBoard board = boards.get(locationId);
+        if (board == null) {
+            throw new RuntimeException("Location not found");
+        }
+        return board.current;
+    }
+
+    /**
+     * Called when a location is created or edited; a changed time zone moves
+     * the board to that zone's current day.
+     */
+    public void updateLocation(Location location) {
+        UUID locationId = location.getId();
+        ZoneId zone = ZoneId.of(location.getTimeZone());
+        TransactionCallbacks.afterCommit(() -> {
+            LocationBoard board = boards.get(locationId);
+            if (board == null || !board.zone.equals(zone)) {
+                LocationBoard replacement = new LocationBoard(locationId, zone);
+                boards.put(locationId, replacement);
+                rebuild(replacement, LocalDate.now(zone));
+            }
+        });
+    }
+
+    public void removeLocation(UUID locationId) {
+        TransactionCallbacks.afterCommit(() -> boards.remove(locationId));
+    }
+
+    public void removeVisitorLog(UUID visitorLogId) {
+        TransactionCallbacks.afterCommit(() -> boards.values().forEach(board -> board.apply(visitorLogId, null)));
+    }
+
+    @TransactionalEventListener
+    public void onVisitorLogEvent(VisitorLogEvent event) {
+        VisitorLogView log = event.visitorLog();
+        LocationBoard board = boards.get(log.locationId());
+        if (board != null) {
+            // A failed kiosk check-in leaves the visit expected, so it stays on the board
+            boolean expected = (event.type() == VisitorLogEvent.Type.CREATED
+                || event.type() == VisitorLogEvent.Type.CHECK_IN_FAILED) && log.status() == VisitorLogStatus.EXPECTED;
+            board.apply(log.id(), expected ? log : null);
+        }
+    }
+
+    /**
+     * Loads the day from the database outside the board's lock. Events that
+     * commit while the query runs are recorded and replayed on top of the
+     * loaded rows, so none of them is lost to the older snapshot.
+     */
+    private void rebuild(LocationBoard board, LocalDate date) {
+        synchronized (board.rebuildLock) {
+            synchronized (board) {
+                board.pending = new ArrayList<>();
+            }
+            Instant start = date.atStartOfDay(board.zone).toInstant();
+            Instant end = date.plusDays(1).atStartOfDay(board.zone).toInstant();
+            List<VisitorLogView> arrivals = visitorLogRepository.findViewsByLocationAndStatusBetween(
+                board.locationId, VisitorLogStatus.EXPECTED, start, end);
+            synchronized (board) {
+                board.start = start;
+                board.end = end;
+                board.publish(date, new ArrayList<>(arrivals));
+                List<PendingChange> replay = board.pending;
+                board.pending = null;
+                replay.forEach(change -> board.apply(change.visitorLogId(), change.arrival()));
+            }
+        }
+    }
+
+    private record PendingChange(UUID visitorLogId, VisitorLogView arrival) {
+    }
+
+    private final class LocationBoard {
+        private final UUID locationId;
+        private final ZoneId zone;
+        private final Object rebuildLock = new Object();
+        private volatile ArrivalsBoardView current;
+        private Instant start = Instant.MIN;
+        private Instant end = Instant.MIN;
+        private List<PendingChange> pending;
+
+        private LocationBoard(UUID locationId, ZoneId zone) {
+            this.locationId = locationId;
+            this.zone = zone;
+            this.current = new ArrivalsBoardView(locationId, LocalDate.MIN, zone.getId(), versions.incrementAndGet(), List.of());
+        }
+
+        /**
+         * Drops the log from the board and, when {@code arrival} is given and
+         * falls on the board's day, puts it back in time order.
+         */
+        private synchronized void apply(UUID visitorLogId, VisitorLogView arrival) {
+            if (pending != null) {
+                pending.add(new PendingChange(visitorLogId, arrival));
+            }
+            List<VisitorLogView> arrivals = new ArrayList<>(current.arrivals());
+            boolean changed = arrivals.removeIf(view -> view.id().equals(visitorLogId));
+            if (arrival != null && !arrival.checkInTime().isBefore(start) && arrival.checkInTime().isBefore(end)) {
+                int at = 0;
+                while (at < arrivals.size() && !arrivals.get(at).checkInTime().isAfter(arrival.checkInTime())) {
+                    at++;
+                }
+                arrivals.add(at, arrival);
+                changed = true;
+            }
+            if (changed) {
+                publish(current.date(), arrivals);
+            }
+        }
+
+        private void publish(LocalDate date, List<VisitorLogView> arrivals) {
+            current = new ArrivalsBoardView(locationId, date, zone.getId(), versions.incrementAndGet(),
+                List.copyOf(arrivals));
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.vms.service;
 
 import com.example.vms.model.User;
-import com.example.vms.repository.UserRepository;
 import com.example.vms.security.JwtTokenProvider;
 import com.example.vms.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +15,6 @@ import org.springframework.stereotype.Service;
 public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
-    private final UserRepository userRepository;
 
     public String login(String email, String password) {
         Authentication authentication = authenticationManager.authenticate(
@@ -30,7 +28,6 @@ public class AuthService {
     public User getCurrentUser() {
         UserPrincipal userPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
             .getAuthentication().getPrincipal();
-        return userRepository.findById(userPrincipal.getId())
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        return userPrincipal.toUser();
     }
 }
\ No newline at end of file
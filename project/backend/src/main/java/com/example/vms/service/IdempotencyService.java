@@ -0,0 +1,103 @@
+package com.example.vms.service;
+
+import com.example.vms.model.IdempotencyRecord;
+import com.example.vms.repository.IdempotencyRecordRepository;
+import com.example.vms.util.TransactionCallbacks;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Replays the stored response for a retried request carrying the same
+ * Idempotency-Key instead of executing it again. Recent keys are answered from
+ * a bounded in-memory cache; the idempotency_keys table covers evicted keys,
+ * restarts and other instances, and its primary key rejects concurrent
+ * duplicates that slip past the in-flight check.
+ */
+@Service
+public class IdempotencyService {
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, IdempotencyRecord> recent;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Duration retention;
+
+    public IdempotencyService(
+            IdempotencyRecordRepository repository,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.cache.max-size:10000}") long maxSize,
+            @Value("${idempotency.retention:24h}") Duration retention) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.retention = retention;
+        this.recent = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(retention)
+            .build();
+    }
+
+    @Transactional
+    public <T> T execute(String key, String scope, Class<T> type, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > 128) {
+            throw new RuntimeException("Idempotency-Key must be at most 128 characters");
+        }
+
+        IdempotencyRecord existing = recent.getIfPresent(key);
+        if (existing == null) {
+            existing = repository.findById(key).orElse(null);
+        }
+        if (existing != null) {
+            return replay(existing, scope, type);
+        }
+
+        if (!inFlight.add(key)) {
+            throw new RuntimeException("A request with this Idempotency-Key is already in progress");
+        }
+        TransactionCallbacks.onCompletion(committed -> inFlight.remove(key));
+
+        T result = action.get();
+        IdempotencyRecord record = new IdempotencyRecord(key, scope, write(result), Instant.now());
+        repository.insert(record.getKey(), record.getScope(), record.getResponseBody(), record.getCreatedAt());
+        TransactionCallbacks.afterCommit(() -> recent.put(key, record));
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        repository.deleteOlderThan(Instant.now().minus(retention));
+    }
+
+    private <T> T replay(IdempotencyRecord record, String scope, Class<T> type) {
+        if (!record.getScope().equals(scope)) {
+            throw new RuntimeException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return objectMapper.readValue(record.getResponseBody(), type);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Stored idempotent response could not be read", e);
+        }
+    }
+
+    private String write(Object result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Idempotent response could not be stored", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.vms.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Applies kiosk check-ins off the request thread so scan latency does not
+ * include the database write. A check-in that still fails, typically because
+ * it lost a race for the last slot or to another transition, is published on
+ * the SSE feed as CHECK_IN_FAILED.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KioskCheckInWriter {
+    private final VisitorLogService visitorLogService;
+
+    @Async
+    public void checkIn(UUID visitorLogId, Consumer<UUID> onFailure) {
+        try {
+            visitorLogService.checkIn(visitorLogId);
+        } catch (RuntimeException ex) {
+            log.warn("Kiosk check-in failed for visitor log {}: {}", visitorLogId, ex.getMessage());
+            onFailure.accept(visitorLogId);
+            visitorLogService.publishCheckInFailed(visitorLogId);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.vms.service;
+
+import com.example.vms.dto.KioskScanResult;
+import com.example.vms.model.VisitorLogStatus;
+import com.example.vms.security.KioskPass;
+import com.example.vms.security.KioskPassSigner;
+import com.example.vms.security.StripedReplayGuard;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class KioskService {
+    private final KioskPassSigner passSigner;
+    private final KioskCheckInWriter checkInWriter;
+    private final VisitorLogService visitorLogService;
+    private final OccupancyService occupancyService;
+    private final StripedReplayGuard replayGuard;
+
+    public KioskService(KioskPassSigner passSigner, KioskCheckInWriter checkInWriter,
+                        VisitorLogService visitorLogService, OccupancyService occupancyService,
+                        @Value("${kiosk.replay-guard.stripes:64}") int stripes,
+                        @Value("${kiosk.replay-guard.sweep-threshold:4096}") int sweepThreshold) {
+        this.passSigner = passSigner;
+        this.checkInWriter = checkInWriter;
+        this.visitorLogService = visitorLogService;
+        this.occupancyService = occupancyService;
+        this.replayGuard = new StripedReplayGuard(stripes, sweepThreshold);
+    }
+
+    /**
+     * Verifies a scanned pass and queues the check-in. Besides the signature,
+     * validity window, kiosk location and replay guard, the log must still be
+     * EXPECTED (a single-column primary key lookup) and the location must have
+     * room, so an accepted scan only fails later if it loses a race; the
+     * write itself happens in the asynchronous writer.
+     */
+    public KioskScanResult scan(String token, UUID kioskLocationId) {
+        Instant now = Instant.now();
+        Optional<KioskPass> verified = passSigner.verify(token, now);
+        if (verified.isEmpty()) {
+            return KioskScanResult.rejected("Invalid or expired pass");
+        }
+        KioskPass pass = verified.get();
+        if (kioskLocationId == null) {
+            return KioskScanResult.rejected("Kiosk location is required");
+        }
+        if (!kioskLocationId.equals(pass.locationId())) {
+            return KioskScanResult.rejected("Pass is for a different location");
+        }
+        if (visitorLogService.getStatus(pass.visitorLogId()).orElse(null) != VisitorLogStatus.EXPECTED) {
+            return KioskScanResult.rejected("Visit is not expected");
+        }
+        if (occupancyService.isFull(kioskLocationId)) {
+            return KioskScanResult.rejected("Location is at capacity");
+        }
+        if (!replayGuard.tryUse(pass.visitorLogId(), pass.notAfter(), now)) {
+            return KioskScanResult.rejected("Pass already used");
+        }
+
+        checkInWriter.checkIn(pass.visitorLogId(), replayGuard::release);
+        return KioskScanResult.accepted(pass.visitorLogId());
+    }
+}
@@ -2,10 +2,13 @@ package com.example.vms.service;
 
 import com.example.vms.model.Location;
 import com.example.vms.repository.LocationRepository;
+import com.example.vms.repository.VisitorLogRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,6 +16,9 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class LocationService {
     private final LocationRepository locationRepository;
+    private final VisitorLogRepository visitorLogRepository;
+    private final OccupancyService occupancyService;
+    private final ArrivalsBoardService arrivalsBoardService;
 
     @Transactional(readOnly = true)
     public List<Location> getAllLocations() {
@@ -32,7 +38,11 @@ public class LocationService {
 
     @Transactional
     public Location createLocation(Location location) {
-        return locationRepository.save(location);
+        location.setTimeZone(validTimeZone(location.getTimeZone()));
+        Location saved = locationRepository.save(location);
+        occupancyService.updateLocation(saved);
+        arrivalsBoardService.updateLocation(saved);
+        return saved;
     }
 
     @Transactional
@@ -46,11 +56,33 @@ public class LocationService {
         location.setCountry(locationDetails.getCountry());
         location.setCapacity(locationDetails.getCapacity());
         location.setActive(locationDetails.isActive());
-        return locationRepository.save(location);
+        if (locationDetails.getTimeZone() != null) {
+            location.setTimeZone(validTimeZone(locationDetails.getTimeZone()));
+        }
+        Location saved = locationRepository.save(location);
+        occupancyService.updateLocation(saved);
+        arrivalsBoardService.updateLocation(saved);
+        return saved;
     }
 
     @Transactional
     public void deleteLocation(UUID id) {
+        if (visitorLogRepository.existsByLocationId(id)) {
+            throw new RuntimeException("Location has visitor logs");
+        }
         locationRepository.deleteById(id);
+        occupancyService.removeLocation(id);
+        arrivalsBoardService.removeLocation(id);
+    }
+
+    private static String validTimeZone(String timeZone) {
+        if (timeZone == null) {
+            return "UTC";
+        }
+        try {
+            return ZoneId.of(timeZone).getId();
+        } catch (DateTimeException ex) {
+            throw new RuntimeException("Invalid time zone: " + timeZone, ex);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.example.vms.service;
+
+import com.example.vms.dto.OccupancyView;
+import com.example.vms.dto.VisitorLogView;
+import com.example.vms.model.Location;
+import com.example.vms.model.VisitorLog;
+import com.example.vms.model.VisitorLogStatus;
+import com.example.vms.repository.LocationRepository;
+import com.example.vms.repository.VisitorLogRepository;
+import com.example.vms.util.TransactionCallbacks;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Live per-location occupancy. The headcount counter is reserved inside the
+ * check-in transaction so capacity is enforced without a count query, and the
+ * roster is only mutated once the surrounding transaction has committed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OccupancyService {
+    private static final String ONSITE_METRIC = "vms.location.onsite";
+    private static final String CAPACITY_METRIC = "vms.location.capacity";
+
+    private final VisitorLogRepository visitorLogRepository;
+    private final LocationRepository locationRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<UUID, LocationOccupancy> occupancy = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        occupancy.keySet().forEach(this::unregister);
+        occupancy.clear();
+        for (Location location : locationRepository.findAll()) {
+            forLocation(location.getId()).capacity = location.getCapacity();
+        }
+        List<VisitorLogView> onSite = visitorLogRepository.findViewsByStatus(VisitorLogStatus.CHECKED_IN);
+        for (VisitorLogView view : onSite) {
+            LocationOccupancy occ = forLocation(view.locationId());
+            if (occ.roster.put(view.id(), view) == null) {
+                occ.headcount.incrementAndGet();
+            }
+        }
+        log.info("Rebuilt occupancy index: {} locations, {} visitors on site", occupancy.size(), onSite.size());
+    }
+
+    public OccupancyView getOccupancy(UUID locationId) {
+        LocationOccupancy occ = occupancy.get(locationId);
+        if (occ == null) {
+            throw new RuntimeException("Location not found");
+        }
+        int headcount = occ.headcount.get();
+        return new OccupancyView(locationId, headcount, occ.capacity, Math.max(0, occ.capacity - headcount));
+    }
+
+    public int headcount(UUID locationId) {
+        LocationOccupancy occ = occupancy.get(locationId);
+        return occ == null ? 0 : occ.headcount.get();
+    }
+
+    public boolean isFull(UUID locationId) {
+        LocationOccupancy occ = occupancy.get(locationId);
+        return occ != null && occ.headcount.get() >= occ.capacity;
+    }
+
+    public Collection<VisitorLogView> getRoster(UUID locationId) {
+        LocationOccupancy occ = occupancy.get(locationId);
+        if (occ == null) {
+            throw new RuntimeException("Location not found");
+        }
+        return List.copyOf(occ.roster.values());
+    }
+
+    public void updateLocation(Location location) {
+        forLocation(location.getId()).capacity = location.getCapacity();
+    }
+
+    public void removeLocation(UUID locationId) {
+        TransactionCallbacks.afterCommit(() -> {
+            if (occupancy.remove(locationId) != null) {
+                unregister(locationId);
+            }
+        });
+    }
+
+    /**
+     * Claims a slot at the log's location for the current check-in. Throws when
+     * the location is full; the slot is released again if the transaction rolls back.
+     * The returned action gives the slot back when the check-in does not go
+     * ahead even though the transaction commits.
+     */
+    public Runnable reserveCheckIn(VisitorLog visitorLog) {
+        Location location = visitorLog.getLocation();
+        LocationOccupancy occ = forLocation(location.getId());
+        occ.capacity = location.getCapacity();
+        if (occ.roster.containsKey(visitorLog.getId())) {
+            return () -> { };
+        }
+
+        int current;
+        do {
+            current = occ.headcount.get();
+            if (current >= occ.capacity) {
+                throw new RuntimeException("Location is at capacity");
+            }
+        } while (!occ.headcount.compareAndSet(current, current + 1));
+
+        AtomicBoolean released = new AtomicBoolean();
+        TransactionCallbacks.onCompletion(committed -> {
+            if (released.get()) {
+                return;
+            }
+            if (!committed || occ.roster.put(visitorLog.getId(), VisitorLogView.from(visitorLog)) != null) {
+                occ.headcount.decrementAndGet();
+            }
+        });
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                occ.headcount.decrementAndGet();
+            }
+        };
+    }
+
+    public void releaseCheckOut(UUID locationId, UUID visitorLogId) {
+        TransactionCallbacks.afterCommit(() -> {
+            LocationOccupancy occ = occupancy.get(locationId);
+            if (occ != null) {
+                release(occ, visitorLogId);
+            }
+        });
+    }
+
+    public void releaseVisitorLog(UUID visitorLogId) {
+        TransactionCallbacks.afterCommit(() -> occupancy.values().forEach(occ -> release(occ, visitorLogId)));
+    }
+
+    private void release(LocationOccupancy occ, UUID visitorLogId) {
+        if (occ.roster.remove(visitorLogId) != null) {
+            occ.headcount.decrementAndGet();
+        }
+    }
+
+    private LocationOccupancy forLocation(UUID locationId) {
+        return occupancy.computeIfAbsent(locationId, id -> {
+            LocationOccupancy occ = new LocationOccupancy();
+            Gauge.builder(ONSITE_METRIC, occ.headcount, AtomicInteger::get)
+                .description("Visitors currently checked in at the location")
+                .tag("location", id.toString())
+                .register(meterRegistry);
+            Gauge.builder(CAPACITY_METRIC, occ, o -> o.capacity)
+                .tag("location", id.toString())
+                .register(meterRegistry);
+            return occ;
+        });
+    }
+
+    private void unregister(UUID locationId) {
+        String tag = locationId.toString();
+        meterRegistry.find(ONSITE_METRIC).tag("location", tag).meters().forEach(meterRegistry::remove);
+        meterRegistry.find(CAPACITY_METRIC).tag("location", tag).meters().forEach(meterRegistry::remove);
+    }
+
+    private static final class LocationOccupancy {
+        private final AtomicInteger headcount = new AtomicInteger();
+        private final ConcurrentMap<UUID, VisitorLogView> roster = new ConcurrentHashMap<>();
+        private volatile int capacity;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.vms.service;
+
+import com.example.vms.dto.CacheRegionStatsView;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Stats and manual eviction for the Hibernate second-level cache. Entries
+ * are kept current by Hibernate on every write through the application;
+ * eviction here is for changes made to the database out of band.
+ */
+@Service
+@RequiredArgsConstructor
+public class SecondLevelCacheService {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public List<CacheRegionStatsView> getRegionStats() {
+        Statistics statistics = sessionFactory().getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+            .sorted()
+            .map(statistics::getCacheRegionStatistics)
+            .filter(Objects::nonNull)
+            .map(CacheRegionStatsView::of)
+            .toList();
+    }
+
+    public void evictAll() {
+        sessionFactory().getCache().evictAllRegions();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.vms.service;
+
+import com.example.vms.dto.CursorPage;
+import com.example.vms.model.User;
+import com.example.vms.repository.UserRepository;
+import com.example.vms.repository.VisitorLogRepository;
+import com.example.vms.security.UserPrincipalCache;
+import com.example.vms.util.KeysetCursor;
+import com.example.vms.util.TransactionCallbacks;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class UserService {
+    private final UserRepository userRepository;
+    private final VisitorLogRepository visitorLogRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
+    private final UserPrincipalCache principalCache;
+
+    @Transactional(readOnly = true)
+    public CursorPage<User> getUserPage(String cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        Pageable pageable = PageRequest.ofSize(size + 1);
+        List<User> rows = cursor == null || cursor.isBlank()
+            ? userRepository.findAllByOrderByIdAsc(pageable)
+            : userRepository.findByIdGreaterThanOrderByIdAsc(KeysetCursor.decode(cursor).id(), pageable);
+        return CursorPage.of(rows, size, user -> KeysetCursor.of(user.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamUsers(Consumer<User> sink) {
+        try (Stream<User> users = userRepository.streamAll()) {
+            users.forEach(user -> {
+                sink.accept(user);
+                entityManager.clear();
+            });
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public User getUserById(UUID id) {
+        return userRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @Transactional
+    public User createUser(User user) {
+        if (userRepository.existsByEmail(user.getEmail())) {
+            throw new RuntimeException("Email already exists");
+        }
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        return userRepository.save(user);
+    }
+
+    @Transactional
+    public User updateUser(UUID id, User userDetails) {
+        User user = getUserById(id);
+        user.setName(userDetails.getName());
+        user.setDepartment(userDetails.getDepartment());
+        user.setAvatarUrl(userDetails.getAvatarUrl());
+        User saved = userRepository.save(user);
+        TransactionCallbacks.afterCommit(() -> principalCache.invalidate(id));
+        return saved;
+    }
+
+    @Transactional
+    public void deleteUser(UUID id) {
+        if (visitorLogRepository.existsByHostId(id)) {
+            throw new RuntimeException("User is the host of visitor logs");
+        }
+        userRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(() -> principalCache.invalidate(id));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,170 @@
+package com.example.vms.service;
+
+import com.example.vms.dto.VisitorLogEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed visitor log events out to SSE subscribers. Publishing never
+ * blocks: each subscriber has a bounded buffer drained by its own virtual
+ * thread, events that do not fit are dropped, and a subscriber that keeps
+ * falling behind is disconnected so it can reconnect and resync. A send that
+ * stays blocked past the send deadline also evicts the subscriber, and idle
+ * streams get a heartbeat comment so proxies do not drop them.
+ */
+@Slf4j
+@Component
+public class VisitorLogEventBroadcaster {
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+    private final long sendDeadlineNanos;
+
+    public VisitorLogEventBroadcaster(
+            @Value("${events.sse.buffer-size:256}") int bufferSize,
+            @Value("${events.sse.timeout:30m}") Duration timeout,
+            @Value("${events.sse.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${events.sse.send-deadline:5s}") Duration sendDeadline) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+        this.sendDeadlineNanos = sendDeadline.toNanos();
+    }
+
+    public SseEmitter subscribe(UUID locationId, UUID hostId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, locationId, hostId);
+        emitter.onCompletion(subscriber::stop);
+        emitter.onTimeout(subscriber::stop);
+        emitter.onError(ex -> subscriber.stop());
+        subscribers.add(subscriber);
+        subscriber.start();
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener
+    public void onVisitorLogEvent(VisitorLogEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.sse.sweep-interval:PT1S}")
+    public void evictStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long started = subscriber.sendStartedNanos;
+            if (started != 0 && now - started > sendDeadlineNanos) {
+                log.debug("Evicting SSE subscriber blocked in send for over {} ms", sendDeadlineNanos / 1_000_000);
+                subscriber.stop();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.stop();
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final UUID locationId;
+        private final UUID hostId;
+        private final BlockingQueue<VisitorLogEvent> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicInteger consecutiveDrops = new AtomicInteger();
+        private volatile boolean active = true;
+        private volatile long sendStartedNanos;
+        private Thread drainer;
+
+        private Subscriber(SseEmitter emitter, UUID locationId, UUID hostId) {
+            this.emitter = emitter;
+            this.locationId = locationId;
+            this.hostId = hostId;
+        }
+
+        private void start() {
+            drainer = Thread.ofVirtual().name("sse-subscriber").start(this::drain);
+        }
+
+        private boolean matches(VisitorLogEvent event) {
+            return (locationId == null || locationId.equals(event.visitorLog().locationId()))
+                && (hostId == null || hostId.equals(event.visitorLog().hostId()));
+        }
+
+        private void offer(VisitorLogEvent event) {
+            if (buffer.offer(event)) {
+                consecutiveDrops.set(0);
+            } else if (consecutiveDrops.incrementAndGet() >= bufferSize) {
+                log.debug("Disconnecting slow SSE subscriber after {} dropped events", bufferSize);
+                stop();
+            }
+        }
+
+        private void drain() {
+            try {
+                while (active) {
+                    VisitorLogEvent event = buffer.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (!active) {
+                        break;
+                    }
+                    send(event == null
+                        ? SseEmitter.event().comment("heartbeat")
+                        : SseEmitter.event()
+                            .name(event.type().name())
+                            .id(event.visitorLog().id().toString())
+                            .data(event));
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException ex) {
+                // client went away
+            } finally {
+                stop();
+                emitter.complete();
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendStartedNanos = System.nanoTime();
+            try {
+                emitter.send(event);
+            } finally {
+                sendStartedNanos = 0;
+            }
+        }
+
+        // Safe from any thread: never touches the emitter, which a blocked send holds
+        private void stop() {
+            active = false;
+            subscribers.remove(this);
+            buffer.clear();
+            Thread thread = drainer;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+    }
+}
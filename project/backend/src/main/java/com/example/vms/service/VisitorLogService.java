@@ -0,0 +1,400 @@
+package com.example.vms.service;
+
+import com.example.vms.dto.BulkTransitionRequest;
+import com.example.vms.dto.BulkTransitionResult;
+import com.example.vms.dto.CursorPage;
+import com.example.vms.dto.VisitorLogEvent;
+import com.example.vms.dto.VisitorLogView;
+import com.example.vms.journal.JournalEntry;
+import com.example.vms.journal.JournalEntryType;
+import com.example.vms.model.*;
+import com.example.vms.repository.ArchivedVisitorLogRepository;
+import com.example.vms.repository.VisitorLogRepository;
+import com.example.vms.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "vms.service", histogram = true)
+public class VisitorLogService {
+    private static final Comparator<VisitorLogView> NEWEST_FIRST =
+        Comparator.comparing(VisitorLogView::checkInTime).reversed();
+
+    private final VisitorLogRepository visitorLogRepository;
+    private final ArchivedVisitorLogRepository archivedVisitorLogRepository;
+    private final VisitorService visitorService;
+    private final LocationService locationService;
+    private final OccupancyService occupancyService;
+    private final ArrivalsBoardService arrivalsBoardService;
+    private final AnalyticsService analyticsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+    // The read methods below cover both the hot table and the archive of
+    // closed logs moved out by VisitorLogArchiver
+
+    @Transactional(readOnly = true)
+    public CursorPage<VisitorLogView> getVisitorLogPage(String cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        Pageable pageable = PageRequest.ofSize(size + 1);
+        List<VisitorLogView> hot;
+        List<VisitorLogView> archived;
+        if (cursor == null || cursor.isBlank()) {
+            hot = visitorLogRepository.findFirstPage(pageable);
+            archived = archivedVisitorLogRepository.findFirstPage(pageable);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            hot = visitorLogRepository.findPageAfter(after.time(), after.id(), pageable);
+            archived = archivedVisitorLogRepository.findPageAfter(after.time(), after.id(), pageable);
+        }
+        List<VisitorLogView> rows = merge(hot, archived, VisitorLogView.KEYSET_ORDER);
+        return CursorPage.of(rows.subList(0, Math.min(rows.size(), size + 1)), size,
+            log -> new KeysetCursor(log.checkInTime(), log.id()));
+    }
+
+    // Each tier is streamed in keyset order, the hot table first
+    @Transactional(readOnly = true)
+    public void streamVisitorLogs(Consumer<VisitorLogView> sink) {
+        try (Stream<VisitorLogView> logs = visitorLogRepository.streamAll()) {
+            logs.forEach(sink);
+        }
+        try (Stream<VisitorLogView> logs = archivedVisitorLogRepository.streamAll()) {
+            logs.forEach(sink);
+        }
+    }
+
+    // Check-ins in [start, end), archived logs after the hot ones
+    @Transactional(readOnly = true)
+    public void streamVisitorLogsBetween(Instant start, Instant end, Consumer<VisitorLogView> sink) {
+        if (!start.isBefore(end)) {
+            throw new RuntimeException("Export range start must be before its end");
+        }
+        try (Stream<VisitorLogView> logs = visitorLogRepository.streamByCheckInTimeBetween(start, end)) {
+            logs.forEach(sink);
+        }
+        try (Stream<VisitorLogView> logs = archivedVisitorLogRepository.streamByCheckInTimeBetween(start, end)) {
+            logs.forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<VisitorLogView> getVisitorLogsByHost(User host) {
+        return merge(visitorLogRepository.findViewsByHostId(host.getId()),
+            archivedVisitorLogRepository.findViewsByHostId(host.getId()), NEWEST_FIRST);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VisitorLogView> getVisitorLogsByStatus(VisitorLogStatus status) {
+        List<VisitorLogView> hot = visitorLogRepository.findViewsByStatus(status);
+        if (!status.isClosed()) {
+            return hot;
+        }
+        return merge(hot, archivedVisitorLogRepository.findViewsByStatus(status), NEWEST_FIRST);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VisitorLogView> getVisitorLogsByDateRange(Instant start, Instant end) {
+        return merge(visitorLogRepository.findViewsByCheckInTimeBetween(start, end),
+            archivedVisitorLogRepository.findViewsByCheckInTimeBetween(start, end), VisitorLogView.KEYSET_ORDER);
+    }
+
+    @Transactional(readOnly = true)
+    public VisitorLogView getVisitorLogView(UUID id) {
+        return visitorLogRepository.findWithGraphById(id)
+            .map(VisitorLogView::from)
+            .or(() -> archivedVisitorLogRepository.findViewById(id))
+            .orElseThrow(() -> new RuntimeException("Visitor log not found"));
+    }
+
+    // Used by @PreAuthorize to limit hosts to their own visits
+    @Transactional(readOnly = true)
+    public boolean isHostedBy(UUID id, UUID hostId) {
+        return visitorLogRepository.existsByIdAndHostId(id, hostId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<VisitorLogStatus> getStatus(UUID id) {
+        return visitorLogRepository.findStatusById(id);
+    }
+
+    /**
+     * Tells SSE subscribers that a check-in accepted off the request thread
+     * did not go ahead. The event carries the log as it now stands.
+     */
+    @Transactional(readOnly = true)
+    public void publishCheckInFailed(UUID id) {
+        visitorLogRepository.findWithGraphById(id)
+            .ifPresent(visitorLog -> publish(VisitorLogEvent.Type.CHECK_IN_FAILED, visitorLog));
+    }
+
+    @Transactional(readOnly = true)
+    public VisitorLog getVisitorLogById(UUID id) {
+        return visitorLogRepository.findWithGraphById(id)
+            .orElseThrow(() -> new RuntimeException("Visitor log not found"));
+    }
+
+    @Transactional
+    public VisitorLog createVisitorLog(VisitorLog visitorLog) {
+        // Validate visitor and location exist
+        Visitor visitor = visitorService.getVisitorById(visitorLog.getVisitor().getId());
+        Location location = locationService.getLocationById(visitorLog.getLocation().getId());
+        
+        visitorLog.setVisitor(visitor);
+        visitorLog.setLocation(location);
+        visitorLog.setHost(visitor.getHost());
+        visitorLog.setStatus(VisitorLogStatus.EXPECTED);
+        VisitorLog saved = visitorLogRepository.save(visitorLog);
+        publish(VisitorLogEvent.Type.CREATED, saved);
+        return saved;
+    }
+
+    @Transactional
+    public VisitorLog checkIn(UUID id) {
+        VisitorLog visitorLog = transition(id, VisitorLogStatus.CHECKED_IN, log -> {
+            log.setCheckInTime(Instant.now());
+            occupancyService.reserveCheckIn(log);
+        });
+        
+        // Update visitor status
+        visitorService.setVisitorStatus(visitorLog.getVisitor().getId(), VisitorStatus.CHECKED_IN);
+        analyticsService.recordCheckIn(visitorLog, occupancyService.headcount(visitorLog.getLocation().getId()));
+        publish(VisitorLogEvent.Type.CHECKED_IN, visitorLog);
+        return visitorLog;
+    }
+
+    @Transactional
+    public VisitorLog checkOut(UUID id) {
+        VisitorLog visitorLog = transition(id, VisitorLogStatus.CHECKED_OUT, log -> {
+            log.setCheckOutTime(Instant.now());
+            occupancyService.releaseCheckOut(log.getLocation().getId(), log.getId());
+        });
+        
+        // Update visitor status
+        visitorService.setVisitorStatus(visitorLog.getVisitor().getId(), VisitorStatus.CHECKED_OUT);
+        analyticsService.recordCheckOut(visitorLog);
+        publish(VisitorLogEvent.Type.CHECKED_OUT, visitorLog);
+        return visitorLog;
+    }
+
+    @Transactional
+    public VisitorLog cancel(UUID id) {
+        VisitorLog visitorLog = transition(id, VisitorLogStatus.CANCELED,
+            log -> occupancyService.releaseVisitorLog(log.getId()));
+
+        visitorService.setVisitorStatus(visitorLog.getVisitor().getId(), VisitorStatus.CANCELED);
+        publish(VisitorLogEvent.Type.CANCELED, visitorLog);
+        return visitorLog;
+    }
+
+    /**
+     * Validates the transition against the status state machine and applies it
+     * with a compare-and-set UPDATE on the status column, so two guards acting
+     * on the same log cannot both succeed. The loaded entity is detached and
+     * returned reflecting the new state.
+     */
+    private VisitorLog transition(UUID id, VisitorLogStatus target, Consumer<VisitorLog> prepare) {
+        VisitorLog visitorLog = getVisitorLogById(id);
+        VisitorLogStatus current = visitorLog.getStatus();
+        if (!current.canTransitionTo(target)) {
+            throw new RuntimeException("Visitor log cannot move from " + current + " to " + target);
+        }
+
+        entityManager.detach(visitorLog);
+        prepare.accept(visitorLog);
+        Instant now = Instant.now();
+        int updated = visitorLogRepository.compareAndSetStatus(id, current, target,
+            visitorLog.getCheckInTime(), visitorLog.getCheckOutTime(), now);
+        if (updated == 0) {
+            throw new ObjectOptimisticLockingFailureException(VisitorLog.class, id);
+        }
+        visitorLog.setStatus(target);
+        visitorLog.setUpdatedAt(now);
+        visitorLog.setVersion(visitorLog.getVersion() + 1);
+        return visitorLog;
+    }
+
+    @Transactional
+    public List<BulkTransitionResult> checkInAll(List<UUID> ids) {
+        Instant now = Instant.now();
+        return checkInAll(ids, id -> now);
+    }
+
+    @Transactional
+    public List<BulkTransitionResult> checkOutAll(List<UUID> ids) {
+        Instant now = Instant.now();
+        return checkOutAll(ids, id -> now);
+    }
+
+    /**
+     * Rejects a transition before it is journaled if it could never apply. A
+     * check-out is accepted while the log is still EXPECTED, since its
+     * check-in may be journaled but not yet applied.
+     */
+    @Transactional(readOnly = true)
+    public void checkJournalable(UUID id, JournalEntryType type) {
+        VisitorLogStatus current = getVisitorLogById(id).getStatus();
+        VisitorLogStatus target = type == JournalEntryType.CHECK_IN
+            ? VisitorLogStatus.CHECKED_IN : VisitorLogStatus.CHECKED_OUT;
+        boolean applicable = current == VisitorLogStatus.EXPECTED
+            || (type == JournalEntryType.CHECK_OUT && current == VisitorLogStatus.CHECKED_IN);
+        if (!applicable) {
+            throw new RuntimeException("Visitor log cannot move from " + current + " to " + target);
+        }
+    }
+
+    /**
+     * Applies journaled transitions in one transaction, keeping the times at
+     * which they were recorded. Check-ins are applied before check-outs so a
+     * visit journaled in full within one batch ends up checked out.
+     */
+    @Transactional
+    public List<BulkTransitionResult> applyJournaled(List<JournalEntry> entries) {
+        Map<UUID, Instant> checkIns = new LinkedHashMap<>();
+        Map<UUID, Instant> checkOuts = new LinkedHashMap<>();
+        for (JournalEntry entry : entries) {
+            (entry.type() == JournalEntryType.CHECK_IN ? checkIns : checkOuts)
+                .putIfAbsent(entry.visitorLogId(), entry.occurredAt());
+        }
+        List<BulkTransitionResult> results = new ArrayList<>(entries.size());
+        if (!checkIns.isEmpty()) {
+            results.addAll(checkInAll(new ArrayList<>(checkIns.keySet()), checkIns::get));
+        }
+        if (!checkOuts.isEmpty()) {
+            results.addAll(checkOutAll(new ArrayList<>(checkOuts.keySet()), checkOuts::get));
+        }
+        return results;
+    }
+
+    private List<BulkTransitionResult> checkInAll(List<UUID> ids, Function<UUID, Instant> timeOf) {
+        return transitionAll(ids, VisitorLogStatus.CHECKED_IN, VisitorStatus.CHECKED_IN, visitorLog -> {
+            // The slot is claimed before the update and given back if the
+            // update loses to another request
+            Runnable release = occupancyService.reserveCheckIn(visitorLog);
+            visitorLog.setCheckInTime(timeOf.apply(visitorLog.getId()));
+            return release;
+        }, checkedIn -> {
+            analyticsService.recordCheckIns(checkedIn, occupancyService::headcount);
+            checkedIn.forEach(visitorLog -> publish(VisitorLogEvent.Type.CHECKED_IN, visitorLog));
+        });
+    }
+
+    private List<BulkTransitionResult> checkOutAll(List<UUID> ids, Function<UUID, Instant> timeOf) {
+        return transitionAll(ids, VisitorLogStatus.CHECKED_OUT, VisitorStatus.CHECKED_OUT, visitorLog -> {
+            visitorLog.setCheckOutTime(timeOf.apply(visitorLog.getId()));
+            return () -> { };
+        }, checkedOut -> {
+            checkedOut.forEach(visitorLog ->
+                occupancyService.releaseCheckOut(visitorLog.getLocation().getId(), visitorLog.getId()));
+            analyticsService.recordCheckOuts(checkedOut);
+            checkedOut.forEach(visitorLog -> publish(VisitorLogEvent.Type.CHECKED_OUT, visitorLog));
+        });
+    }
+
+    /**
+     * Applies one transition to many logs inside the caller's transaction: one
+     * select for the logs, a compare-and-set update per log as in
+     * {@link #transition} and a single set-based update for the visitors'
+     * status. {@code prepare} sets the new times on the detached log and
+     * returns what undoes its side effects should the update lose to another
+     * request. Failures, including such conflicts, are reported per id and the
+     * successfully transitioned logs are handed to {@code afterTransition}.
+     */
+    private List<BulkTransitionResult> transitionAll(List<UUID> ids, VisitorLogStatus target,
+                                                     VisitorStatus visitorStatus, Function<VisitorLog, Runnable> prepare,
+                                                     Consumer<List<VisitorLog>> afterTransition) {
+        if (ids == null || ids.isEmpty()) {
+            throw new RuntimeException("No visitor log ids given");
+        }
+        if (ids.size() > BulkTransitionRequest.MAX_IDS) {
+            throw new RuntimeException("At most " + BulkTransitionRequest.MAX_IDS + " visitor logs per request");
+        }
+
+        Map<UUID, VisitorLog> logs = visitorLogRepository.findWithGraphByIdIn(ids).stream()
+            .collect(Collectors.toMap(VisitorLog::getId, Function.identity()));
+        List<BulkTransitionResult> results = new ArrayList<>(ids.size());
+        Set<UUID> visitorIds = new HashSet<>();
+        List<VisitorLog> transitioned = new ArrayList<>();
+        for (UUID id : ids) {
+            VisitorLog visitorLog = logs.get(id);
+            if (visitorLog == null) {
+                results.add(BulkTransitionResult.failed(id, "Visitor log not found"));
+                continue;
+            }
+            VisitorLogStatus current = visitorLog.getStatus();
+            if (!current.canTransitionTo(target)) {
+                results.add(BulkTransitionResult.failed(id,
+                    "Visitor log cannot move from " + current + " to " + target));
+                continue;
+            }
+
+            entityManager.detach(visitorLog);
+            Runnable undo;
+            try {
+                undo = prepare.apply(visitorLog);
+            } catch (RuntimeException ex) {
+                results.add(BulkTransitionResult.failed(id, ex.getMessage()));
+                continue;
+            }
+            Instant now = Instant.now();
+            int updated = visitorLogRepository.compareAndSetStatus(id, current, target,
+                visitorLog.getCheckInTime(), visitorLog.getCheckOutTime(), now);
+            if (updated == 0) {
+                undo.run();
+                results.add(BulkTransitionResult.failed(id, "Visitor log was changed by another request"));
+                continue;
+            }
+            visitorLog.setStatus(target);
+            visitorLog.setUpdatedAt(now);
+            visitorLog.setVersion(visitorLog.getVersion() + 1);
+            visitorIds.add(visitorLog.getVisitor().getId());
+            transitioned.add(visitorLog);
+            results.add(BulkTransitionResult.succeeded(id, visitorLog.getStatus()));
+        }
+
+        if (!transitioned.isEmpty()) {
+            visitorService.updateVisitorStatuses(visitorIds, visitorStatus);
+            afterTransition.accept(transitioned);
+        }
+        return results;
+    }
+
+    // Delivered to listeners only after the surrounding transaction commits
+    private void publish(VisitorLogEvent.Type type, VisitorLog visitorLog) {
+        eventPublisher.publishEvent(new VisitorLogEvent(type, VisitorLogView.from(visitorLog), Instant.now()));
+    }
+
+    @Transactional
+    public void deleteVisitorLog(UUID id) {
+        visitorLogRepository.deleteById(id);
+        archivedVisitorLogRepository.deleteById(id);
+        occupancyService.releaseVisitorLog(id);
+        arrivalsBoardService.removeVisitorLog(id);
+    }
+
+    private static List<VisitorLogView> merge(List<VisitorLogView> hot, List<VisitorLogView> archived,
+                                              Comparator<VisitorLogView> order) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<VisitorLogView> merged = new ArrayList<>(hot.size() + archived.size());
+        merged.addAll(hot);
+        merged.addAll(archived);
+        merged.sort(order);
+        return merged;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.vms.service;
+
+import com.example.vms.dto.CursorPage;
+import com.example.vms.dto.SearchPage;
+import com.example.vms.dto.VisitorSearchHit;
+import com.example.vms.dto.VisitorView;
+import com.example.vms.model.User;
+import com.example.vms.model.Visitor;
+import com.example.vms.model.VisitorStatus;
+import com.example.vms.repository.VisitorRepository;
+import com.example.vms.repository.VisitorLogRepository;
+import com.example.vms.search.SearchMatch;
+import com.example.vms.search.VisitorSearchIndex;
+import com.example.vms.util.KeysetCursor;
+import com.example.vms.util.TransactionCallbacks;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "vms.service", histogram = true)
+public class VisitorService {
+    private static final Set<String> PATCHABLE_FIELDS =
+        Set.of("name", "email", "phone", "company", "purpose", "photoUrl", "documentUrl");
+    private static final Set<String> REQUIRED_FIELDS = Set.of("name", "email", "phone", "purpose");
+
+    private static final int MIN_QUERY_LENGTH = 2;
+
+    private final VisitorRepository visitorRepository;
+    private final VisitorSearchIndex searchIndex;
+    private final VisitorLogRepository visitorLogRepository;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public CursorPage<VisitorView> getVisitorPage(String cursor, Integer limit) {
+        int size = CursorPage.clampLimit(limit);
+        Pageable pageable = PageRequest.ofSize(size + 1);
+        List<VisitorView> rows = cursor == null || cursor.isBlank()
+            ? visitorRepository.findFirstPage(pageable)
+            : visitorRepository.findPageAfter(KeysetCursor.decode(cursor).id(), pageable);
+        return CursorPage.of(rows, size, visitor -> KeysetCursor.of(visitor.id()));
+    }
+
+    @Transactional(readOnly = true)
+    public void streamVisitors(Consumer<VisitorView> sink) {
+        try (Stream<VisitorView> visitors = visitorRepository.streamAll()) {
+            visitors.forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<VisitorView> getVisitorsByHost(User host) {
+        return visitorRepository.findViewsByHostId(host.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public List<VisitorView> getVisitorsByStatus(VisitorStatus status) {
+        return visitorRepository.findViewsByStatus(status);
+    }
+
+    /**
+     * Ranked, typo-tolerant search over name, email, company and phone. The
+     * in-memory index does the matching and ranking; only the requested page
+     * is loaded from the database.
+     */
+    @Transactional(readOnly = true)
+    public SearchPage<VisitorSearchHit> searchVisitors(String query, Integer page, Integer size) {
+        int pageSize = SearchPage.clampSize(size);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        if (query == null || query.strip().length() < MIN_QUERY_LENGTH) {
+            throw new RuntimeException("Search query must be at least " + MIN_QUERY_LENGTH + " characters");
+        }
+
+        List<SearchMatch<UUID>> matches = searchIndex.search(query);
+        int from = Math.min(matches.size(), pageNumber * pageSize);
+        List<SearchMatch<UUID>> slice = matches.subList(from, Math.min(matches.size(), from + pageSize));
+        Map<UUID, VisitorView> views = visitorRepository.findViewsByIdIn(slice.stream().map(SearchMatch::key).toList())
+            .stream()
+            .collect(Collectors.toMap(VisitorView::id, Function.identity()));
+        List<VisitorSearchHit> hits = slice.stream()
+            .filter(match -> views.containsKey(match.key()))
+            .map(match -> new VisitorSearchHit(views.get(match.key()), match.score()))
+            .toList();
+        return new SearchPage<>(hits, pageNumber, pageSize, matches.size());
+    }
+
+    @Transactional(readOnly = true)
+    public Visitor getVisitorById(UUID id) {
+        return visitorRepository.findWithHostById(id)
+            .orElseThrow(() -> new RuntimeException("Visitor not found"));
+    }
+
+    @Transactional(readOnly = true)
+    public VisitorView getVisitorView(UUID id) {
+        return visitorRepository.findViewById(id)
+            .orElseThrow(() -> new RuntimeException("Visitor not found"));
+    }
+
+    @Transactional
+    public VisitorView createVisitor(Visitor visitor) {
+        // Validate host exists
+        visitor.setHost(userService.getUserById(visitor.getHost().getId()));
+        visitor.setStatus(VisitorStatus.PRE_REGISTERED);
+        Visitor saved = visitorRepository.saveAndFlush(visitor);
+        TransactionCallbacks.afterCommit(() -> searchIndex.index(saved));
+        return VisitorView.from(saved);
+    }
+
+    @Transactional
+    public VisitorView updateVisitor(UUID id, Visitor visitorDetails) {
+        Visitor visitor = getVisitorById(id);
+        if (visitorDetails.getVersion() != null && !visitorDetails.getVersion().equals(visitor.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Visitor.class, id);
+        }
+        visitor.setName(visitorDetails.getName());
+        visitor.setEmail(visitorDetails.getEmail());
+        visitor.setPhone(visitorDetails.getPhone());
+        visitor.setCompany(visitorDetails.getCompany());
+        visitor.setPurpose(visitorDetails.getPurpose());
+        visitor.setPhotoUrl(visitorDetails.getPhotoUrl());
+        visitor.setDocumentUrl(visitorDetails.getDocumentUrl());
+        visitor.setStatus(visitorDetails.getStatus());
+        Visitor saved = visitorRepository.saveAndFlush(visitor);
+        TransactionCallbacks.afterCommit(() -> searchIndex.index(saved));
+        return VisitorView.from(saved);
+    }
+
+    /**
+     * Applies an RFC 7396 JSON Merge Patch to the visitor's editable fields.
+     * Dirty checking plus dynamic updates mean only the changed columns are written.
+     * The expected version comes from If-Match or a "version" member of the
+     * patch; either one that no longer matches fails like a stale update.
+     */
+    @Transactional
+    public VisitorView patchVisitor(UUID id, JsonNode patch, Long expectedVersion) {
+        if (patch == null || !patch.isObject()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Merge patch must be a JSON object");
+        }
+        ObjectNode changes = ((ObjectNode) patch).deepCopy();
+        JsonNode version = changes.remove("version");
+        if (version != null && !version.isNull() && !version.canConvertToLong()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Version must be a number");
+        }
+        changes.fields().forEachRemaining(field -> {
+            if (!PATCHABLE_FIELDS.contains(field.getKey())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Field cannot be patched: " + field.getKey());
+            }
+            if (REQUIRED_FIELDS.contains(field.getKey()) && field.getValue().isNull()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Field cannot be removed: " + field.getKey());
+            }
+        });
+
+        Visitor visitor = getVisitorById(id);
+        if ((expectedVersion != null && !expectedVersion.equals(visitor.getVersion()))
+                || (version != null && !version.isNull() && version.asLong() != visitor.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Visitor.class, id);
+        }
+        try {
+            objectMapper.readerForUpdating(visitor).readValue(changes);
+        } catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid merge patch", ex);
+        }
+        // Flushed so the returned view carries the new version and update time
+        visitorRepository.flush();
+        TransactionCallbacks.afterCommit(() -> searchIndex.index(visitor));
+        return VisitorView.from(visitor);
+    }
+
+    @Transactional
+    public VisitorView updateVisitorStatus(UUID id, VisitorStatus status) {
+        setVisitorStatus(id, status);
+        return visitorRepository.findViewById(id)
+            .orElseThrow(() -> new RuntimeException("Visitor not found"));
+    }
+
+    // Single-column UPDATE without loading the row first
+    @Transactional
+    public void setVisitorStatus(UUID id, VisitorStatus status) {
+        if (visitorRepository.updateStatusById(id, status, Instant.now()) == 0) {
+            throw new RuntimeException("Visitor not found");
+        }
+    }
+
+    @Transactional
+    public int updateVisitorStatuses(Collection<UUID> ids, VisitorStatus status) {
+        return visitorRepository.updateStatusByIdIn(ids, status, Instant.now());
+    }
+
+    @Transactional
+    public void deleteVisitor(UUID id) {
+        if (visitorLogRepository.existsByVisitorId(id)) {
+            throw new RuntimeException("Visitor has visitor logs");
+        }
+        visitorRepository.deleteById(id);
+        TransactionCallbacks.afterCommit(() -> searchIndex.remove(id));
+    }
+}
\ No newline at end of file
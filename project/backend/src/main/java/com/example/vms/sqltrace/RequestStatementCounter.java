@@ -0,0 +1,33 @@
+package com.example.vms.sqltrace;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Statements executed by the current request, per fingerprint. Only active
+ * between {@link #begin()} and {@link #end()}; statements on other threads
+ * (async work, streaming bodies) are not attributed.
+ */
+public final class RequestStatementCounter {
+    private static final ThreadLocal<Map<String, Integer>> COUNTS = new ThreadLocal<>();
+
+    private RequestStatementCounter() {
+    }
+
+    static void begin() {
+        COUNTS.set(new HashMap<>());
+    }
+
+    static Map<String, Integer> end() {
+        Map<String, Integer> counts = COUNTS.get();
+        COUNTS.remove();
+        return counts == null ? Map.of() : counts;
+    }
+
+    static void increment(String fingerprint) {
+        Map<String, Integer> counts = COUNTS.get();
+        if (counts != null) {
+            counts.merge(fingerprint, 1, Integer::sum);
+        }
+    }
+}
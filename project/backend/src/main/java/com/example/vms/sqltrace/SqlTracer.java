@@ -0,0 +1,115 @@
+package com.example.vms.sqltrace;
+
+import com.example.vms.dto.QueryFingerprintView;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every statement executed through the proxied DataSource. Statements
+ * slower than the threshold are logged at WARN and a sampled fraction of the
+ * rest at INFO; all of them are aggregated by fingerprint and counted against
+ * the current request.
+ */
+@Slf4j
+public class SqlTracer implements QueryExecutionListener {
+    private static final String START_NANOS = "sqltrace.startNanos";
+    private static final String OTHER_FINGERPRINT = "(other)";
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+    private final int maxFingerprints;
+    private final ConcurrentMap<String, FingerprintStats> fingerprints = new ConcurrentHashMap<>();
+
+    public SqlTracer(Duration slowThreshold, double sampleRate, int maxFingerprints) {
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        long elapsed = start == null ? 0 : System.nanoTime() - start;
+        for (QueryInfo queryInfo : queryInfoList) {
+            String sql = queryInfo.getQuery();
+            String fingerprint = SqlFingerprint.of(sql);
+            statsFor(fingerprint).record(elapsed, execInfo.isSuccess());
+            RequestStatementCounter.increment(fingerprint);
+
+            if (elapsed >= slowThresholdNanos) {
+                log.warn("Slow statement ({} ms, batch {}): {}",
+                    elapsed / 1_000_000, execInfo.getBatchSize(), sql);
+            } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                log.info("Sampled statement ({} us): {}", elapsed / 1_000, sql);
+            }
+        }
+    }
+
+    public List<QueryFingerprintView> topFingerprints(int limit) {
+        return fingerprints.entrySet().stream()
+            .map(entry -> entry.getValue().toView(entry.getKey()))
+            .sorted(Comparator.comparingDouble(QueryFingerprintView::totalMillis).reversed())
+            .limit(limit)
+            .toList();
+    }
+
+    public void reset() {
+        fingerprints.clear();
+    }
+
+    // Distinct shapes are bounded; anything past the limit is pooled so a
+    // dynamic-SQL bug cannot grow the map without bound
+    private FingerprintStats statsFor(String fingerprint) {
+        FingerprintStats stats = fingerprints.get(fingerprint);
+        if (stats != null) {
+            return stats;
+        }
+        if (fingerprints.size() >= maxFingerprints) {
+            return fingerprints.computeIfAbsent(OTHER_FINGERPRINT, key -> new FingerprintStats());
+        }
+        return fingerprints.computeIfAbsent(fingerprint, key -> new FingerprintStats());
+    }
+
+    private static final class FingerprintStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        void record(long nanos, boolean success) {
+            latency.record(nanos);
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        QueryFingerprintView toView(String fingerprint) {
+            long count = latency.count();
+            double totalMillis = latency.totalMicros() / 1000.0;
+            return new QueryFingerprintView(
+                fingerprint,
+                count,
+                errors.sum(),
+                totalMillis,
+                count == 0 ? 0 : totalMillis / count,
+                latency.percentileMicros(0.50) / 1000.0,
+                latency.percentileMicros(0.95) / 1000.0,
+                latency.percentileMicros(0.99) / 1000.0,
+                latency.maxMicros() / 1000.0
+            );
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.vms.sqltrace;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the statements each request executes and warns when one request
+ * runs more than the threshold, naming the most repeated statement, which is
+ * usually the N+1 culprit.
+ */
+@Slf4j
+public class StatementCountFilter extends OncePerRequestFilter {
+    private final int warnThreshold;
+    private final DistributionSummary statementsPerRequest;
+
+    public StatementCountFilter(int warnThreshold, MeterRegistry meterRegistry) {
+        this.warnThreshold = warnThreshold;
+        this.statementsPerRequest = DistributionSummary.builder("vms.sql.statements.per.request")
+            .description("JDBC statements executed while serving one request")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStatementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Map<String, Integer> counts = RequestStatementCounter.end();
+            int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+            statementsPerRequest.record(total);
+            if (total > warnThreshold) {
+                Map.Entry<String, Integer> top = counts.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .orElseThrow();
+                log.warn("{} {} executed {} statements; most repeated ({}x): {}",
+                    request.getMethod(), request.getRequestURI(), total, top.getValue(), top.getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.vms.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token for keyset pagination. Encodes the sort key of the
+ * last row returned, an optional timestamp plus the row id, as URL-safe base64.
+ */
+public record KeysetCursor(Instant time, UUID id) {
+
+    public static KeysetCursor of(UUID id) {
+        return new KeysetCursor(null, id);
+    }
+
+    public String encode() {
+        String raw = (time == null ? "" : time.getEpochSecond() + "." + time.getNano()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            String timePart = raw.substring(0, sep);
+            UUID id = UUID.fromString(raw.substring(sep + 1));
+            if (timePart.isEmpty()) {
+                return of(id);
+            }
+            int dot = timePart.indexOf('.');
+            Instant time = Instant.ofEpochSecond(
+                Long.parseLong(timePart.substring(0, dot)),
+                Long.parseLong(timePart.substring(dot + 1)));
+            return new KeysetCursor(time, id);
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor", ex);
+        }
+    }
+}
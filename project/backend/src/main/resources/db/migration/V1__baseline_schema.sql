@@ -0,0 +1,64 @@
+-- Baseline schema matching the JPA entities as previously generated by ddl-auto.
+-- Existing databases are baselined at this version and only pick up later migrations.
+
+CREATE TABLE users (
+    id          BINARY(16)   NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    role        ENUM('ADMIN', 'HOST', 'SECURITY') NOT NULL,
+    department  VARCHAR(255),
+    avatar_url  VARCHAR(255),
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE locations (
+    id          BINARY(16)   NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    address     VARCHAR(255) NOT NULL,
+    city        VARCHAR(255) NOT NULL,
+    state       VARCHAR(255) NOT NULL,
+    zip_code    VARCHAR(255) NOT NULL,
+    country     VARCHAR(255) NOT NULL,
+    capacity    INT          NOT NULL,
+    active      BIT          NOT NULL,
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE visitors (
+    id           BINARY(16)   NOT NULL,
+    name         VARCHAR(255) NOT NULL,
+    email        VARCHAR(255) NOT NULL,
+    phone        VARCHAR(255) NOT NULL,
+    company      VARCHAR(255),
+    purpose      VARCHAR(255) NOT NULL,
+    host_id      BINARY(16)   NOT NULL,
+    photo_url    VARCHAR(255),
+    document_url VARCHAR(255),
+    status       ENUM('PRE_REGISTERED', 'CHECKED_IN', 'CHECKED_OUT', 'CANCELED') NOT NULL,
+    created_at   DATETIME(6),
+    updated_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_visitors_host FOREIGN KEY (host_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE visitor_logs (
+    id             BINARY(16) NOT NULL,
+    visitor_id     BINARY(16) NOT NULL,
+    host_id        BINARY(16) NOT NULL,
+    location_id    BINARY(16) NOT NULL,
+    check_in_time  DATETIME(6) NOT NULL,
+    check_out_time DATETIME(6),
+    status         ENUM('EXPECTED', 'CHECKED_IN', 'CHECKED_OUT', 'CANCELED') NOT NULL,
+    created_at     DATETIME(6),
+    updated_at     DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_visitor_logs_visitor FOREIGN KEY (visitor_id) REFERENCES visitors (id),
+    CONSTRAINT fk_visitor_logs_host FOREIGN KEY (host_id) REFERENCES users (id),
+    CONSTRAINT fk_visitor_logs_location FOREIGN KEY (location_id) REFERENCES locations (id)
+) ENGINE = InnoDB;
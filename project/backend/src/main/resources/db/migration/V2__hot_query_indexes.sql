@@ -0,0 +1,18 @@
+-- Composite indexes for the visitor log and visitor hot paths.
+
+-- findViewsByStatus (dashboards polling CHECKED_IN / EXPECTED), newest first
+CREATE INDEX idx_visitor_logs_status_check_in ON visitor_logs (status, check_in_time);
+
+-- findViewsByHostId, the host's own log history
+CREATE INDEX idx_visitor_logs_host_check_in ON visitor_logs (host_id, check_in_time);
+
+-- per-location occupancy rebuild and on-site lookups
+CREATE INDEX idx_visitor_logs_location_status ON visitor_logs (location_id, status);
+
+-- date-range queries and (check_in_time, id) keyset pagination
+CREATE INDEX idx_visitor_logs_check_in_id ON visitor_logs (check_in_time, id);
+
+CREATE INDEX idx_visitors_status_created ON visitors (status, created_at);
+CREATE INDEX idx_visitors_host_created ON visitors (host_id, created_at);
+
+CREATE INDEX idx_locations_active ON locations (active);
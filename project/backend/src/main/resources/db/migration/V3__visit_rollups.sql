@@ -0,0 +1,13 @@
+-- Incrementally maintained hourly/daily visit rollups per location and per host.
+
+CREATE TABLE visit_rollups (
+    dimension           ENUM('LOCATION', 'HOST') NOT NULL,
+    dimension_id        BINARY(16)  NOT NULL,
+    granularity         ENUM('HOURLY', 'DAILY') NOT NULL,
+    bucket_start        DATETIME(6) NOT NULL,
+    check_ins           BIGINT      NOT NULL,
+    completed_visits    BIGINT      NOT NULL,
+    total_dwell_seconds BIGINT      NOT NULL,
+    peak_occupancy      INT         NOT NULL,
+    PRIMARY KEY (dimension, dimension_id, granularity, bucket_start)
+) ENGINE = InnoDB;
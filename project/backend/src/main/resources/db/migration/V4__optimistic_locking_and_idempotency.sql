@@ -0,0 +1,13 @@
+-- Optimistic locking versions and the dedupe store for Idempotency-Key retries.
+
+ALTER TABLE visitor_logs ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE visitors ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(128) NOT NULL,
+    scope           VARCHAR(128) NOT NULL,
+    response_body   TEXT         NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (idempotency_key),
+    INDEX idx_idempotency_keys_created_at (created_at)
+) ENGINE = InnoDB;
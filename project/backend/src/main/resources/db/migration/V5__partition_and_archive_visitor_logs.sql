@@ -0,0 +1,41 @@
+-- Monthly RANGE partitions on check_in_time for visitor_logs, plus a
+-- compressed archive table for closed logs past the retention horizon.
+-- Partitions beyond p_history are created ahead of time by
+-- VisitorLogPartitionMaintainer.
+
+-- Partitioned InnoDB tables cannot carry foreign keys; the services check
+-- references before deleting visitors, hosts and locations instead
+ALTER TABLE visitor_logs
+    DROP FOREIGN KEY fk_visitor_logs_visitor,
+    DROP FOREIGN KEY fk_visitor_logs_host,
+    DROP FOREIGN KEY fk_visitor_logs_location;
+
+-- Every unique key must include the partitioning column
+ALTER TABLE visitor_logs DROP PRIMARY KEY, ADD PRIMARY KEY (id, check_in_time);
+
+ALTER TABLE visitor_logs PARTITION BY RANGE COLUMNS (check_in_time) (
+    PARTITION p_history VALUES LESS THAN ('2026-10-01'),
+    PARTITION p_future VALUES LESS THAN (MAXVALUE)
+);
+
+-- Denormalized so archived logs read back without joins and survive later
+-- changes to visitors, users and locations
+CREATE TABLE visitor_logs_archive (
+    id              BINARY(16)   NOT NULL,
+    visitor_id      BINARY(16)   NOT NULL,
+    visitor_name    VARCHAR(255),
+    visitor_company VARCHAR(255),
+    host_id         BINARY(16)   NOT NULL,
+    host_name       VARCHAR(255),
+    location_id     BINARY(16)   NOT NULL,
+    location_name   VARCHAR(255),
+    check_in_time   DATETIME(6)  NOT NULL,
+    check_out_time  DATETIME(6),
+    status          ENUM('EXPECTED', 'CHECKED_IN', 'CHECKED_OUT', 'CANCELED') NOT NULL,
+    created_at      DATETIME(6),
+    archived_at     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_visitor_logs_archive_check_in_id (check_in_time, id),
+    INDEX idx_visitor_logs_archive_host_check_in (host_id, check_in_time),
+    INDEX idx_visitor_logs_archive_status_check_in (status, check_in_time)
+) ENGINE = InnoDB ROW_FORMAT = COMPRESSED KEY_BLOCK_SIZE = 8;
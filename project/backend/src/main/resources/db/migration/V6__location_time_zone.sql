@@ -0,0 +1,8 @@
+-- IANA zone of each location, used to decide what "today" means for its arrivals board.
+
+ALTER TABLE locations ADD COLUMN time_zone VARCHAR(64) NOT NULL DEFAULT 'UTC';
+
+-- findViewsByLocationAndStatusBetween, the per-location arrivals board;
+-- supersedes the (location_id, status) prefix index
+CREATE INDEX idx_visitor_logs_location_status_check_in ON visitor_logs (location_id, status, check_in_time);
+DROP INDEX idx_visitor_logs_location_status ON visitor_logs;
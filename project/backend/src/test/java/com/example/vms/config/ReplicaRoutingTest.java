@@ -0,0 +1,137 @@
+package com.example.vms.config;
+
+import com.example.vms.model.UserRole;
+import com.example.vms.security.UserPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes against two in-memory H2 databases that each hold a marker row
+ * naming themselves, so every read shows which one served it.
+ */
+class ReplicaRoutingTest {
+    private static final Duration READ_YOUR_WRITES_WINDOW = Duration.ofMillis(300);
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaRouter router;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        primary = database("primary-" + suffix, "primary");
+        replica = database("replica-" + suffix, "replica");
+
+        ReplicaRoutingProperties properties = new ReplicaRoutingProperties(true, READ_YOUR_WRITES_WINDOW,
+            Duration.ofSeconds(5), Duration.ofSeconds(2), List.of());
+        router = new ReplicaRouter(List.of(new ReplicaRouter.Replica("replica-0", replica)), properties);
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, router));
+        jdbc = new JdbcTemplate(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        ReplicaRouter.pinToPrimary(false);
+        router.destroy();
+        primary.close();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(servedBy(readOnly)).isEqualTo("replica");
+        assertThat(servedBy(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void fallsBackToPrimaryWhenReplicaIsUnreachable() {
+        replica.close();
+
+        assertThat(servedBy(readOnly)).isEqualTo("primary");
+
+        // The health check keeps it out of rotation rather than retrying it on every read
+        router.checkHealth();
+        ReplicaRouter.Replica chosen = readOnly.execute(status -> router.replicaForCurrentTransaction());
+        assertThat(chosen).isNull();
+        assertThat(servedBy(readOnly)).isEqualTo("primary");
+    }
+
+    @Test
+    void readsStayOnPrimaryWithinTheReadYourWritesWindow() throws Exception {
+        UUID writer = UUID.randomUUID();
+        ReadYourWritesInterceptor interceptor = new ReadYourWritesInterceptor(router);
+
+        authenticate(writer);
+        MockHttpServletRequest write = new MockHttpServletRequest("POST", "/api/visitors");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(write, response, null);
+        readWrite.executeWithoutResult(status -> jdbc.update("update marker set name = name"));
+        interceptor.afterCompletion(write, response, null, null);
+
+        assertThat(readInRequest(interceptor, writer)).isEqualTo("primary");
+        assertThat(readInRequest(interceptor, UUID.randomUUID())).isEqualTo("replica");
+
+        Thread.sleep(READ_YOUR_WRITES_WINDOW.multipliedBy(2).toMillis());
+        assertThat(readInRequest(interceptor, writer)).isEqualTo("replica");
+    }
+
+    private String readInRequest(ReadYourWritesInterceptor interceptor, UUID userId) throws Exception {
+        authenticate(userId);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/visitors");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+        try {
+            return servedBy(readOnly);
+        } finally {
+            interceptor.afterCompletion(request, response, null, null);
+        }
+    }
+
+    private String servedBy(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbc.queryForObject("select name from marker", String.class));
+    }
+
+    private static void authenticate(UUID userId) {
+        UserPrincipal principal = new UserPrincipal(userId, "User", userId + "@example.com", "", UserRole.HOST,
+            null, List.of());
+        SecurityContextHolder.getContext()
+            .setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    private static HikariDataSource database(String name, String marker) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setPassword("");
+        dataSource.setMaximumPoolSize(2);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table marker (name varchar(16) not null)");
+        jdbc.update("insert into marker (name) values (?)", marker);
+        return dataSource;
+    }
+}
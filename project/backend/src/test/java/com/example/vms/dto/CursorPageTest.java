@@ -0,0 +1,37 @@
+package com.example.vms.dto;
+
+import com.example.vms.util.KeysetCursor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPageTest {
+    private final List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+    @Test
+    void extraRowSignalsAnotherPageAndIsNotReturned() {
+        CursorPage<UUID> page = CursorPage.of(ids, 2, KeysetCursor::of);
+
+        assertThat(page.items()).containsExactly(ids.get(0), ids.get(1));
+        assertThat(KeysetCursor.decode(page.nextCursor())).isEqualTo(KeysetCursor.of(ids.get(1)));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPage<UUID> page = CursorPage.of(ids, 3, KeysetCursor::of);
+
+        assertThat(page.items()).isEqualTo(ids);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void clampsTheRequestedLimit() {
+        assertThat(CursorPage.clampLimit(null)).isEqualTo(CursorPage.DEFAULT_LIMIT);
+        assertThat(CursorPage.clampLimit(0)).isEqualTo(CursorPage.DEFAULT_LIMIT);
+        assertThat(CursorPage.clampLimit(10)).isEqualTo(10);
+        assertThat(CursorPage.clampLimit(10_000)).isEqualTo(CursorPage.MAX_LIMIT);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.vms.importer;
+
+import com.example.vms.dto.VisitorImportError;
+import com.example.vms.dto.VisitorImportReport;
+import com.example.vms.repository.LocationRepository;
+import com.example.vms.repository.UserRepository;
+import com.example.vms.search.VisitorSearchIndex;
+import com.example.vms.service.ArrivalsBoardService;
+import com.example.vms.util.UuidBytes;
+import com.example.vms.util.UuidV7;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Imports into H2 in MySQL mode. A host id that passes validation but has no
+ * row makes the foreign key reject its insert, which fails the whole chunk
+ * and exercises the row-by-row retry.
+ */
+class VisitorImporterTest {
+    private static final String HEADER = "name,email,phone,company,purpose,hostId,locationId,expectedAt\n";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final LocationRepository locationRepository = mock(LocationRepository.class);
+    private final UUID hostId = UuidV7.generate();
+    private final UUID ghostHostId = UuidV7.generate();
+    private final UUID locationId = UuidV7.generate();
+    private JdbcTemplate jdbc;
+    private VisitorImporter importer;
+
+    @BeforeEach
+    void migrate() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        // Up to V4, which adds the version columns the importer writes
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration")
+            .target("4")
+            .load()
+            .migrate();
+        jdbc = new JdbcTemplate(dataSource);
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbc.update("insert into users (id, name, email, password, role, created_at, updated_at) " +
+            "values (?, 'Host', 'host@example.com', 'x', 'HOST', ?, ?)", UuidBytes.toBytes(hostId), now, now);
+        jdbc.update("insert into locations (id, name, address, city, state, zip_code, country, capacity, active, " +
+            "created_at, updated_at) values (?, 'Lobby', 'a', 'c', 's', 'z', 'US', 100, true, ?, ?)",
+            UuidBytes.toBytes(locationId), now, now);
+        when(userRepository.findAllIds()).thenReturn(List.of(hostId, ghostHostId));
+        when(locationRepository.findAllIds()).thenReturn(List.of(locationId));
+
+        importer = new VisitorImporter(jdbc, new DataSourceTransactionManager(dataSource), userRepository,
+            locationRepository, mock(VisitorSearchIndex.class), mock(ArrivalsBoardService.class), new ObjectMapper(),
+            3, 1, 100);
+    }
+
+    @Test
+    void rejectedRowFailsAloneWhenItsChunkIsRetriedRowByRow() {
+        VisitorImportReport report = importCsv(HEADER +
+            row("Ada", hostId, locationId, "2026-10-20T09:00:00Z") +
+            row("Ghost", ghostHostId, null, null) +
+            row("Grace", hostId, null, null) +
+            row("Linus", hostId, null, null));
+
+        assertThat(report.rowsRead()).isEqualTo(4);
+        assertThat(report.visitorsImported()).isEqualTo(3);
+        assertThat(report.visitorLogsImported()).isEqualTo(1);
+        assertThat(report.failed()).isEqualTo(1);
+        assertThat(report.errors()).singleElement()
+            .satisfies(error -> {
+                assertThat(error.line()).isEqualTo(3);
+                assertThat(error.message()).startsWith("Row rejected: ");
+            });
+        assertThat(jdbc.queryForList("select name from visitors order by name", String.class))
+            .containsExactly("Ada", "Grace", "Linus");
+        assertThat(jdbc.queryForObject("select count(*) from visitor_logs", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void invalidRowsAreReportedWithoutReachingTheDatabase() {
+        UUID unknownHostId = UUID.randomUUID();
+        VisitorImportReport report = importCsv(HEADER +
+            row("", hostId, null, null) +
+            row("Ada", unknownHostId, null, null) +
+            row("Grace", hostId, locationId, null) +
+            row("Linus", hostId, null, null));
+
+        assertThat(report.visitorsImported()).isEqualTo(1);
+        assertThat(report.errors()).extracting(VisitorImportError::message).containsExactly(
+            "name is required",
+            "Host not found: " + unknownHostId,
+            "locationId and expectedAt must be given together");
+        assertThat(report.errors()).extracting(VisitorImportError::line).containsExactly(2L, 3L, 4L);
+    }
+
+    private VisitorImportReport importCsv(String csv) {
+        return importer.importVisitors("test", ImportFormat.CSV,
+            new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String row(String name, UUID host, UUID location, String expectedAt) {
+        return String.join(",", name, name.toLowerCase() + "@example.com", "555-0100", "Acme", "Meeting",
+            host.toString(), location == null ? "" : location.toString(), expectedAt == null ? "" : expectedAt) + "\n";
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.vms.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckInJournalTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void sequenceContinuesPastCheckpointAfterSegmentsAreDeleted() throws Exception {
+        CheckInJournal first = open();
+        JournalEntry applied = first.append(JournalEntryType.CHECK_IN, UUID.randomUUID()).get(5, TimeUnit.SECONDS);
+        first.append(JournalEntryType.CHECK_OUT, UUID.randomUUID()).get(5, TimeUnit.SECONDS);
+        List<JournalEntry> drained = drain(first);
+        first.checkpoint(drained.get(drained.size() - 1).sequence());
+        first.close();
+
+        // Two restarts without appends: the first deletes the fully checkpointed
+        // segment, the second finds no records at all
+        open().close();
+        open().close();
+
+        CheckInJournal fourth = open();
+        UUID visitorLogId = UUID.randomUUID();
+        JournalEntry acknowledged = fourth.append(JournalEntryType.CHECK_IN, visitorLogId).get(5, TimeUnit.SECONDS);
+        assertThat(acknowledged.sequence()).isGreaterThan(applied.sequence() + 1);
+        fourth.close();
+
+        CheckInJournal recovered = open();
+        assertThat(drain(recovered))
+            .extracting(JournalEntry::visitorLogId)
+            .containsExactly(visitorLogId);
+        recovered.close();
+    }
+
+    @Test
+    void recoverReplaysOnlyEntriesAfterCheckpoint() throws Exception {
+        CheckInJournal journal = open();
+        JournalEntry applied = journal.append(JournalEntryType.CHECK_IN, UUID.randomUUID()).get(5, TimeUnit.SECONDS);
+        JournalEntry pending = journal.append(JournalEntryType.CHECK_OUT, UUID.randomUUID()).get(5, TimeUnit.SECONDS);
+        journal.checkpoint(applied.sequence());
+        journal.close();
+
+        CheckInJournal recovered = open();
+        assertThat(drain(recovered)).containsExactly(pending);
+        recovered.close();
+    }
+
+    private CheckInJournal open() throws Exception {
+        CheckInJournal journal = new CheckInJournal(directory, 16, Duration.ofMillis(1));
+        journal.open();
+        return journal;
+    }
+
+    private static List<JournalEntry> drain(CheckInJournal journal) {
+        List<JournalEntry> entries = new ArrayList<>();
+        journal.drainDurable(entries, Integer.MAX_VALUE);
+        return entries;
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.vms.repository;
+
+import com.example.vms.util.UuidBytes;
+import com.example.vms.util.UuidV7;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Applies every migration to H2 in MySQL mode and checks that the planner
+ * picks each composite index for the hot query it was added for.
+ *
+ * <p>The scripts are translated where H2 and MySQL differ, so the tables end
+ * up with the index set MySQL ships:
+ * <ul>
+ *   <li>InnoDB drops the index it created implicitly for a foreign key as soon
+ *   as another index leading with the same column exists, so the V2 composites
+ *   replace the single-column foreign key indexes from V1. H2 keeps both, so
+ *   the covered foreign keys are dropped here instead.</li>
+ *   <li>Dropping a foreign key on MySQL keeps its index, H2 drops it with the
+ *   constraint, so the index is recreated under the constraint's name.</li>
+ *   <li>Partitioning and compressed row formats have no H2 equivalent and do
+ *   not change which indexes exist, so they are skipped.</li>
+ * </ul>
+ */
+class HotQueryIndexTest {
+    private static final String[] LOG_STATUSES = {"EXPECTED", "CHECKED_IN", "CHECKED_OUT", "CANCELED"};
+    private static final String[] VISITOR_STATUSES = {"PRE_REGISTERED", "CHECKED_IN", "CHECKED_OUT", "CANCELED"};
+    private static final Pattern PARTITION_BY = Pattern.compile("(?i)^alter table \\w+ partition by .*");
+    private static final Pattern TABLE_OPTIONS = Pattern.compile("(?i)\\s+(row_format|key_block_size)\\s*=\\s*\\w+");
+    private static final Pattern ALTER_TABLE = Pattern.compile("(?i)^alter table (\\w+) (.*)");
+    private static final Pattern DROP_FOREIGN_KEY = Pattern.compile("(?i)^drop foreign key (\\w+)$");
+
+    private static JdbcTemplate jdbc;
+    private static UUID hostId;
+    private static UUID locationId;
+    private static UUID visitorId;
+
+    @BeforeAll
+    static void migrate() throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:hot_query_indexes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*__*.sql");
+        Arrays.sort(scripts, Comparator.comparingInt(HotQueryIndexTest::version));
+        for (Resource script : scripts) {
+            String sql = script.getContentAsString(StandardCharsets.UTF_8).replaceAll("--[^\\n]*", "");
+            for (String statement : sql.split(";")) {
+                if (!statement.isBlank()) {
+                    apply(statement.strip().replaceAll("\\s+", " "));
+                }
+            }
+        }
+        seed();
+        jdbc.execute("analyze");
+    }
+
+    @Test
+    void visitorLogsCarryTheShippedIndexes() {
+        List<String> indexes = jdbc.queryForList("select index_name from information_schema.indexes " +
+            "where table_name = 'visitor_logs' and index_type_name <> 'PRIMARY KEY'", String.class);
+
+        assertThat(indexes).containsExactlyInAnyOrder(
+            "fk_visitor_logs_visitor",
+            "idx_visitor_logs_status_check_in",
+            "idx_visitor_logs_host_check_in",
+            "idx_visitor_logs_check_in_id",
+            "idx_visitor_logs_location_status_check_in");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', textBlock = """
+        idx_visitor_logs_status_check_in | select id from visitor_logs where status = 'CHECKED_IN' order by check_in_time desc
+        idx_visitor_logs_host_check_in   | select id from visitor_logs where host_id = :host order by check_in_time desc
+        idx_visitor_logs_location_status_check_in | select id from visitor_logs where location_id = :location and status = 'CHECKED_IN'
+        idx_visitor_logs_location_status_check_in | select id from visitor_logs where location_id = :location and status = 'EXPECTED' and check_in_time >= :start and check_in_time < :end order by check_in_time
+        idx_visitor_logs_check_in_id     | select id from visitor_logs where check_in_time >= :start and check_in_time < :end order by check_in_time, id
+        fk_visitor_logs_visitor          | select id from visitor_logs where visitor_id = :visitor
+        idx_visitor_logs_archive_status_check_in | select id from visitor_logs_archive where status = 'CHECKED_OUT' order by check_in_time desc
+        idx_visitor_logs_archive_host_check_in   | select id from visitor_logs_archive where host_id = :host order by check_in_time desc
+        idx_visitor_logs_archive_check_in_id     | select id from visitor_logs_archive where check_in_time >= :start and check_in_time < :end order by check_in_time, id
+        idx_visitors_status_created      | select id from visitors where status = 'CHECKED_IN' order by created_at desc
+        idx_visitors_host_created        | select id from visitors where host_id = :host order by created_at desc
+        idx_locations_active             | select id from locations where active = true
+        """)
+    void hotQueryUsesCompositeIndex(String index, String query) {
+        Instant day = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        String sql = query
+            .replace(":host", hex(hostId))
+            .replace(":location", hex(locationId))
+            .replace(":visitor", hex(visitorId))
+            .replace(":start", "timestamp '" + Timestamp.from(day) + "'")
+            .replace(":end", "timestamp '" + Timestamp.from(day.plus(1, ChronoUnit.DAYS)) + "'");
+
+        String plan = jdbc.queryForObject("explain " + sql, String.class);
+
+        assertThat(plan).containsIgnoringCase(index);
+    }
+
+    private static int version(Resource script) {
+        String name = script.getFilename();
+        return Integer.parseInt(name.substring(1, name.indexOf("__")));
+    }
+
+    private static void apply(String statement) {
+        if (PARTITION_BY.matcher(statement).matches()) {
+            return;
+        }
+        statement = TABLE_OPTIONS.matcher(statement).replaceAll("");
+        Matcher alter = ALTER_TABLE.matcher(statement);
+        if (alter.matches()) {
+            // H2 takes a single change per ALTER TABLE
+            for (String clause : splitTopLevel(alter.group(2))) {
+                Matcher dropForeignKey = DROP_FOREIGN_KEY.matcher(clause);
+                if (dropForeignKey.matches()) {
+                    dropForeignKeyKeepingIndex(alter.group(1), dropForeignKey.group(1));
+                } else {
+                    jdbc.execute("alter table " + alter.group(1) + " " + clause);
+                }
+            }
+        } else {
+            jdbc.execute(statement);
+        }
+        dropForeignKeysCoveredByCompositeIndexes();
+    }
+
+    private static List<String> splitTopLevel(String clauses) {
+        List<String> split = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < clauses.length(); i++) {
+            char c = clauses.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                split.add(clauses.substring(start, i).strip());
+                start = i + 1;
+            }
+        }
+        split.add(clauses.substring(start).strip());
+        return split;
+    }
+
+    private static void dropForeignKeyKeepingIndex(String table, String constraint) {
+        List<String> columns = jdbc.queryForList("select column_name from information_schema.key_column_usage " +
+            "where table_name = ? and constraint_name = ? order by ordinal_position", String.class, table, constraint);
+        if (columns.isEmpty()) {
+            // Already dropped because a composite index covers it, as is its implicit index on MySQL
+            return;
+        }
+        jdbc.execute("alter table " + table + " drop constraint " + constraint);
+        jdbc.execute("create index " + constraint + " on " + table + " (" + String.join(", ", columns) + ")");
+    }
+
+    private static void dropForeignKeysCoveredByCompositeIndexes() {
+        List<Map<String, Object>> covered = jdbc.queryForList(
+            "select tc.table_name, tc.constraint_name from information_schema.table_constraints tc " +
+            "join information_schema.key_column_usage k " +
+            "on k.constraint_name = tc.constraint_name and k.table_name = tc.table_name " +
+            "where tc.constraint_type = 'FOREIGN KEY' and exists (" +
+            "select 1 from information_schema.index_columns leading " +
+            "join information_schema.index_columns following " +
+            "on following.index_name = leading.index_name and following.table_name = leading.table_name " +
+            "and following.ordinal_position = 2 " +
+            "where leading.table_name = tc.table_name and leading.column_name = k.column_name " +
+            "and leading.ordinal_position = 1)");
+        for (Map<String, Object> constraint : covered) {
+            jdbc.execute("alter table " + constraint.get("table_name") + " drop constraint " +
+                constraint.get("constraint_name"));
+        }
+    }
+
+    // Enough rows, spread over enough distinct values, that an index lookup
+    // is cheaper than a scan
+    private static void seed() {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<UUID> hosts = new ArrayList<>();
+        List<UUID> locations = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            UUID host = UuidV7.generate();
+            hosts.add(host);
+            jdbc.update("insert into users (id, name, email, password, role, created_at, updated_at) " +
+                "values (?, ?, ?, 'x', 'HOST', ?, ?)", UuidBytes.toBytes(host), "Host " + i, "host" + i + "@example.com",
+                now, now);
+            UUID location = UuidV7.generate();
+            locations.add(location);
+            jdbc.update("insert into locations (id, name, address, city, state, zip_code, country, capacity, active, " +
+                "created_at, updated_at) values (?, ?, 'a', 'c', 's', 'z', 'US', 100, ?, ?, ?)",
+                UuidBytes.toBytes(location), "Location " + i, i % 10 == 0, now, now);
+        }
+        hostId = hosts.get(0);
+        locationId = locations.get(0);
+
+        List<Object[]> visitors = new ArrayList<>();
+        List<UUID> visitorIds = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            UUID visitor = UuidV7.generate();
+            visitorIds.add(visitor);
+            Timestamp createdAt = Timestamp.from(Instant.now().minus(i, ChronoUnit.MINUTES));
+            visitors.add(new Object[]{UuidBytes.toBytes(visitor), "Visitor " + i, "visitor" + i + "@example.com",
+                "555-" + i, "Visit", UuidBytes.toBytes(hosts.get(i % hosts.size())),
+                VISITOR_STATUSES[i % VISITOR_STATUSES.length], createdAt, createdAt});
+        }
+        jdbc.batchUpdate("insert into visitors (id, name, email, phone, purpose, host_id, status, created_at, " +
+            "updated_at) values (?, ?, ?, ?, ?, ?, ?, ?, ?)", visitors);
+
+        List<Object[]> logs = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Timestamp checkInTime = Timestamp.from(Instant.now().minus(i, ChronoUnit.MINUTES));
+            logs.add(new Object[]{UuidBytes.toBytes(UuidV7.generate()),
+                UuidBytes.toBytes(visitorIds.get(i % visitorIds.size())),
+                UuidBytes.toBytes(hosts.get(i % hosts.size())),
+                UuidBytes.toBytes(locations.get((i / 7) % locations.size())),
+                checkInTime, LOG_STATUSES[i % LOG_STATUSES.length], checkInTime, checkInTime});
+        }
+        jdbc.batchUpdate("insert into visitor_logs (id, visitor_id, host_id, location_id, check_in_time, status, " +
+            "created_at, updated_at) values (?, ?, ?, ?, ?, ?, ?, ?)", logs);
+        visitorId = visitorIds.get(0);
+
+        jdbc.update("insert into visitor_logs_archive (id, visitor_id, host_id, location_id, check_in_time, " +
+            "check_out_time, status, created_at, archived_at) select id, visitor_id, host_id, location_id, " +
+            "check_in_time, check_out_time, status, created_at, ? from visitor_logs", now);
+    }
+
+    private static String hex(UUID id) {
+        StringBuilder literal = new StringBuilder("X'");
+        for (byte b : UuidBytes.toBytes(id)) {
+            literal.append(String.format("%02x", b));
+        }
+        return literal.append('\'').toString();
+    }
+}
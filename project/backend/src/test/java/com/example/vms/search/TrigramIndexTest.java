@@ -0,0 +1,65 @@
+package com.example.vms.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+    // name, email, company, phone, as in VisitorSearchIndex
+    private final TrigramIndex<String> index = new TrigramIndex<>(0.5, new double[]{1.0, 0.6, 0.4, 0.8}, 3);
+
+    @Test
+    void exactNameRanksAboveACloseSpelling() {
+        index.put("kowalski", "Priya Kowalski", "pk@example.com", "Acme Corp", "+1-555-010-1111");
+        index.put("kowalsky", "Priya Kowalsky", "pky@example.com", "Globex", "+1-555-010-2222");
+        index.put("chen", "Wei Chen", "wc@example.com", "Initech", "+1-555-010-3333");
+
+        assertThat(keys(index.search("Priya Kowalski"))).containsExactly("kowalski", "kowalsky");
+    }
+
+    @Test
+    void toleratesATypo() {
+        index.put("kowalski", "Priya Kowalski", "pk@example.com", "Acme Corp", "+1-555-010-1111");
+
+        assertThat(keys(index.search("Priya Kowalsky"))).containsExactly("kowalski");
+    }
+
+    @Test
+    void nameMatchOutranksTheSameWordInTheCompany() {
+        index.put("company", "John Smith", "js@example.com", "Vandelay Industries", "+1-555-010-1111");
+        index.put("name", "Vandelay Smith", "vs@example.com", "Globex", "+1-555-010-2222");
+
+        List<SearchMatch<String>> matches = index.search("Vandelay");
+
+        assertThat(keys(matches)).containsExactly("name", "company");
+        assertThat(matches.get(0).score()).isGreaterThan(matches.get(1).score());
+    }
+
+    @Test
+    void matchesPhoneNumbersByDigitsWhateverTheFormatting() {
+        index.put("match", "John Smith", "js@example.com", "Acme", "+1 (555) 012-3456");
+        index.put("other", "Jane Smith", "jane@example.com", "Acme", "+1 (555) 987-6543");
+
+        assertThat(keys(index.search("555-0123"))).containsExactly("match");
+    }
+
+    @Test
+    void updatedAndRemovedDocumentsNoLongerMatchTheirOldText() {
+        index.put("renamed", "Olga Ivanova", "oi@example.com", "Acme", "+1-555-010-1111");
+        index.put("removed", "Olga Novak", "on@example.com", "Acme", "+1-555-010-2222");
+
+        index.put("renamed", "Chiara Rossi", "cr@example.com", "Acme", "+1-555-010-1111");
+        index.remove("removed");
+
+        assertThat(index.search("Olga")).isEmpty();
+        assertThat(keys(index.search("Chiara Rossi"))).containsExactly("renamed");
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.tombstoneRatio()).isGreaterThan(0);
+    }
+
+    private static List<String> keys(List<SearchMatch<String>> matches) {
+        return matches.stream().map(SearchMatch::key).toList();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.vms.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KioskPassSignerTest {
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    private final UUID visitorLogId = UUID.randomUUID();
+    private final UUID locationId = UUID.randomUUID();
+
+    @Test
+    void verifiesAPassInsideItsWindow() {
+        KioskPassSigner signer = signer("secret");
+        KioskPass pass = signer.issue(visitorLogId, locationId, now.minusSeconds(60), now.plusSeconds(60));
+
+        assertThat(signer.verify(pass.token(), now)).contains(pass);
+    }
+
+    @Test
+    void rejectsAPassOutsideItsWindow() {
+        KioskPassSigner signer = signer("secret");
+        String token = signer.issue(visitorLogId, locationId, now.minusSeconds(60), now.plusSeconds(60)).token();
+
+        assertThat(signer.verify(token, now.minusSeconds(61))).isEmpty();
+        assertThat(signer.verify(token, now.plusSeconds(61))).isEmpty();
+    }
+
+    @Test
+    void rejectsATamperedPayload() {
+        KioskPassSigner signer = signer("secret");
+        String token = signer.issue(visitorLogId, locationId, now.minusSeconds(60), now.plusSeconds(60)).token();
+        String otherPayload = signer.issue(UUID.randomUUID(), locationId, now.minusSeconds(60), now.plusSeconds(60))
+            .token().split("\\.")[0];
+
+        assertThat(signer.verify(otherPayload + token.substring(token.indexOf('.')), now)).isEmpty();
+    }
+
+    @Test
+    void rejectsAPassSignedWithAnotherSecret() {
+        String token = signer("other").issue(visitorLogId, locationId, now.minusSeconds(60), now.plusSeconds(60))
+            .token();
+
+        assertThat(signer("secret").verify(token, now)).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        KioskPassSigner signer = signer("secret");
+
+        assertThat(signer.verify(null, now)).isEmpty();
+        assertThat(signer.verify("no-dot", now)).isEmpty();
+        assertThat(signer.verify("!!!.???", now)).isEmpty();
+        assertThat(signer.verify("AAAA.AAAA", now)).isEmpty();
+    }
+
+    private static KioskPassSigner signer(String secret) {
+        KioskPassSigner signer = new KioskPassSigner();
+        ReflectionTestUtils.setField(signer, "secret", secret);
+        ReflectionTestUtils.setField(signer, "validBefore", Duration.ofHours(2));
+        ReflectionTestUtils.setField(signer, "validAfter", Duration.ofHours(12));
+        signer.init();
+        return signer;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.vms.service;
+
+import com.example.vms.model.IdempotencyRecord;
+import com.example.vms.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceTest {
+    private final IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+    private final IdempotencyService idempotencyService =
+        new IdempotencyService(repository, new ObjectMapper(), 100, Duration.ofHours(24));
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void retryWithTheSameKeyReplaysTheFirstResponse() {
+        when(repository.findById("key")).thenReturn(Optional.empty());
+
+        String first = idempotencyService.execute("key", "check-in:1", String.class, this::action);
+        String retried = idempotencyService.execute("key", "check-in:1", String.class, this::action);
+
+        assertThat(retried).isEqualTo(first).isEqualTo("response 1");
+        assertThat(executions).hasValue(1);
+        verify(repository).insert(eq("key"), eq("check-in:1"), eq("\"response 1\""), any(Instant.class));
+    }
+
+    @Test
+    void keyStoredByAnotherInstanceIsReplayedFromTheTable() {
+        when(repository.findById("key")).thenReturn(Optional.of(
+            new IdempotencyRecord("key", "check-in:1", "\"stored\"", Instant.now())));
+
+        assertThat(idempotencyService.execute("key", "check-in:1", String.class, this::action)).isEqualTo("stored");
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() {
+        when(repository.findById("key")).thenReturn(Optional.empty());
+        idempotencyService.execute("key", "check-in:1", String.class, this::action);
+
+        assertThatThrownBy(() -> idempotencyService.execute("key", "check-out:1", String.class, this::action))
+            .hasMessage("Idempotency-Key was already used for a different request");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void duplicateArrivingWhileTheFirstIsInFlightIsRejected() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(repository.findById("key")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> idempotencyService.execute("key", "check-in:1", String.class,
+                () -> idempotencyService.execute("key", "check-in:1", String.class, this::action)))
+            .hasMessage("A request with this Idempotency-Key is already in progress");
+
+        // Once the first request's transaction ends the key may be tried again
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(idempotencyService.execute("key", "check-in:1", String.class, this::action)).isEqualTo("response 1");
+    }
+
+    @Test
+    void requestsWithoutAKeyAlwaysExecute() {
+        idempotencyService.execute(null, "check-in:1", String.class, this::action);
+        idempotencyService.execute(" ", "check-in:1", String.class, this::action);
+
+        assertThat(executions).hasValue(2);
+        verify(repository, never()).insert(anyString(), anyString(), anyString(), any());
+    }
+
+    private String action() {
+        return "response " + executions.incrementAndGet();
+    }
+}
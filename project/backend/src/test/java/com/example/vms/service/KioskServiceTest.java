@@ -0,0 +1,101 @@
+package com.example.vms.service;
+
+import com.example.vms.dto.KioskScanResult;
+import com.example.vms.model.VisitorLogStatus;
+import com.example.vms.security.KioskPassSigner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KioskServiceTest {
+    private final KioskPassSigner passSigner = new KioskPassSigner();
+    private final KioskCheckInWriter checkInWriter = mock(KioskCheckInWriter.class);
+    private final VisitorLogService visitorLogService = mock(VisitorLogService.class);
+    private final OccupancyService occupancyService = mock(OccupancyService.class);
+    private final KioskService kioskService =
+        new KioskService(passSigner, checkInWriter, visitorLogService, occupancyService, 4, 16);
+    private final UUID visitorLogId = UUID.randomUUID();
+    private final UUID locationId = UUID.randomUUID();
+    private String token;
+
+    @BeforeEach
+    void issuePass() {
+        ReflectionTestUtils.setField(passSigner, "secret", "secret");
+        ReflectionTestUtils.setField(passSigner, "validBefore", Duration.ofHours(2));
+        ReflectionTestUtils.setField(passSigner, "validAfter", Duration.ofHours(12));
+        passSigner.init();
+        Instant now = Instant.now();
+        token = passSigner.issue(visitorLogId, locationId, now.minusSeconds(60), now.plusSeconds(3600)).token();
+        when(visitorLogService.getStatus(visitorLogId)).thenReturn(Optional.of(VisitorLogStatus.EXPECTED));
+    }
+
+    @Test
+    void acceptsAValidPassOnceAndQueuesTheCheckIn() {
+        assertThat(kioskService.scan(token, locationId)).isEqualTo(KioskScanResult.accepted(visitorLogId));
+        assertThat(kioskService.scan(token, locationId)).isEqualTo(KioskScanResult.rejected("Pass already used"));
+
+        verify(checkInWriter).checkIn(eq(visitorLogId), any());
+    }
+
+    @Test
+    void failedCheckInReleasesThePassForAnotherScan() {
+        kioskService.scan(token, locationId);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Consumer<UUID>> onFailure = ArgumentCaptor.forClass(Consumer.class);
+        verify(checkInWriter).checkIn(eq(visitorLogId), onFailure.capture());
+
+        onFailure.getValue().accept(visitorLogId);
+
+        assertThat(kioskService.scan(token, locationId).accepted()).isTrue();
+    }
+
+    @Test
+    void rejectsAPassForAnotherLocation() {
+        assertThat(kioskService.scan(token, UUID.randomUUID()))
+            .isEqualTo(KioskScanResult.rejected("Pass is for a different location"));
+        verify(checkInWriter, never()).checkIn(any(), any());
+    }
+
+    @Test
+    void rejectsAnExpiredPass() {
+        Instant issued = Instant.now().minus(Duration.ofDays(1));
+        String expired = passSigner.issue(visitorLogId, locationId, issued, issued.plusSeconds(60)).token();
+
+        assertThat(kioskService.scan(expired, locationId))
+            .isEqualTo(KioskScanResult.rejected("Invalid or expired pass"));
+    }
+
+    @Test
+    void rejectsAVisitThatIsNoLongerExpected() {
+        when(visitorLogService.getStatus(visitorLogId)).thenReturn(Optional.of(VisitorLogStatus.CHECKED_IN));
+
+        assertThat(kioskService.scan(token, locationId))
+            .isEqualTo(KioskScanResult.rejected("Visit is not expected"));
+        verify(checkInWriter, never()).checkIn(any(), any());
+    }
+
+    @Test
+    void rejectsAScanAtAFullLocationWithoutUsingThePass() {
+        when(occupancyService.isFull(locationId)).thenReturn(true);
+        assertThat(kioskService.scan(token, locationId))
+            .isEqualTo(KioskScanResult.rejected("Location is at capacity"));
+
+        when(occupancyService.isFull(locationId)).thenReturn(false);
+        assertThat(kioskService.scan(token, locationId).accepted()).isTrue();
+    }
+}
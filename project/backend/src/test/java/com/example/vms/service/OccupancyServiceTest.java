@@ -0,0 +1,123 @@
+package com.example.vms.service;
+
+import com.example.vms.model.Location;
+import com.example.vms.model.User;
+import com.example.vms.model.Visitor;
+import com.example.vms.model.VisitorLog;
+import com.example.vms.model.VisitorLogStatus;
+import com.example.vms.repository.LocationRepository;
+import com.example.vms.repository.VisitorLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class OccupancyServiceTest {
+    private final OccupancyService occupancyService = new OccupancyService(
+        mock(VisitorLogRepository.class), mock(LocationRepository.class), new SimpleMeterRegistry());
+    private final Location location = location(2);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rejectsCheckInsPastCapacity() {
+        occupancyService.reserveCheckIn(visitorLog(location));
+        occupancyService.reserveCheckIn(visitorLog(location));
+
+        assertThatThrownBy(() -> occupancyService.reserveCheckIn(visitorLog(location)))
+            .hasMessage("Location is at capacity");
+        assertThat(occupancyService.headcount(location.getId())).isEqualTo(2);
+        assertThat(occupancyService.getRoster(location.getId())).hasSize(2);
+        assertThat(occupancyService.isFull(location.getId())).isTrue();
+    }
+
+    @Test
+    void repeatedCheckInOfAnOnSiteVisitorTakesNoSecondSlot() {
+        VisitorLog visitorLog = visitorLog(location);
+        occupancyService.reserveCheckIn(visitorLog);
+        occupancyService.reserveCheckIn(visitorLog);
+
+        assertThat(occupancyService.headcount(location.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackCheckInGivesItsSlotBack() {
+        TransactionSynchronizationManager.initSynchronization();
+        occupancyService.reserveCheckIn(visitorLog(location));
+        assertThat(occupancyService.headcount(location.getId())).isEqualTo(1);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(occupancyService.headcount(location.getId())).isZero();
+        assertThat(occupancyService.getRoster(location.getId())).isEmpty();
+    }
+
+    @Test
+    void releasedReservationStaysReleasedWhenTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        Runnable release = occupancyService.reserveCheckIn(visitorLog(location));
+        release.run();
+        release.run();
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(occupancyService.headcount(location.getId())).isZero();
+        assertThat(occupancyService.getRoster(location.getId())).isEmpty();
+    }
+
+    @Test
+    void checkOutFreesTheSlotForTheNextVisitor() {
+        VisitorLog first = visitorLog(location);
+        occupancyService.reserveCheckIn(first);
+        occupancyService.reserveCheckIn(visitorLog(location));
+
+        occupancyService.releaseCheckOut(location.getId(), first.getId());
+        occupancyService.reserveCheckIn(visitorLog(location));
+
+        assertThat(occupancyService.headcount(location.getId())).isEqualTo(2);
+    }
+
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private static Location location(int capacity) {
+        Location location = new Location();
+        location.setId(UUID.randomUUID());
+        location.setName("Lobby");
+        location.setCapacity(capacity);
+        return location;
+    }
+
+    private static VisitorLog visitorLog(Location location) {
+        User host = new User();
+        host.setId(UUID.randomUUID());
+        Visitor visitor = new Visitor();
+        visitor.setId(UUID.randomUUID());
+        visitor.setHost(host);
+        VisitorLog visitorLog = new VisitorLog();
+        visitorLog.setId(UUID.randomUUID());
+        visitorLog.setVisitor(visitor);
+        visitorLog.setHost(host);
+        visitorLog.setLocation(location);
+        visitorLog.setCheckInTime(Instant.now());
+        visitorLog.setStatus(VisitorLogStatus.CHECKED_IN);
+        return visitorLog;
+    }
+}
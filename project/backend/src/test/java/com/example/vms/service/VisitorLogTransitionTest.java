@@ -0,0 +1,190 @@
+package com.example.vms.service;
+
+import com.example.vms.dto.BulkTransitionResult;
+import com.example.vms.dto.VisitorLogView;
+import com.example.vms.model.Location;
+import com.example.vms.model.User;
+import com.example.vms.model.Visitor;
+import com.example.vms.model.VisitorLog;
+import com.example.vms.model.VisitorLogStatus;
+import com.example.vms.model.VisitorStatus;
+import com.example.vms.repository.ArchivedVisitorLogRepository;
+import com.example.vms.repository.LocationRepository;
+import com.example.vms.repository.VisitorLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Single and bulk transitions against a mocked repository: the status only
+ * moves through a compare-and-set from the status that was read, and a log
+ * that loses the compare-and-set gives back the occupancy slot it reserved.
+ */
+class VisitorLogTransitionTest {
+    private final VisitorLogRepository visitorLogRepository = mock(VisitorLogRepository.class);
+    private final VisitorService visitorService = mock(VisitorService.class);
+    private final OccupancyService occupancyService = new OccupancyService(
+        visitorLogRepository, mock(LocationRepository.class), new SimpleMeterRegistry());
+    private final VisitorLogService visitorLogService = new VisitorLogService(visitorLogRepository,
+        mock(ArchivedVisitorLogRepository.class), visitorService, mock(LocationService.class), occupancyService,
+        mock(ArrivalsBoardService.class), mock(AnalyticsService.class), mock(ApplicationEventPublisher.class),
+        mock(EntityManager.class));
+    private final Location location = location(10);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void checkInMovesTheLogFromExpectedWithCompareAndSet() {
+        VisitorLog visitorLog = stored(VisitorLogStatus.EXPECTED);
+        casReturns(visitorLog, VisitorLogStatus.EXPECTED, VisitorLogStatus.CHECKED_IN, 1);
+
+        VisitorLog checkedIn = visitorLogService.checkIn(visitorLog.getId());
+
+        assertThat(checkedIn.getStatus()).isEqualTo(VisitorLogStatus.CHECKED_IN);
+        assertThat(checkedIn.getVersion()).isEqualTo(1L);
+        assertThat(checkedIn.getCheckInTime()).isNotNull();
+        assertThat(occupancyService.headcount(location.getId())).isEqualTo(1);
+        verify(visitorService).setVisitorStatus(visitorLog.getVisitor().getId(), VisitorStatus.CHECKED_IN);
+    }
+
+    @Test
+    void checkInThatLosesTheCompareAndSetFailsAndFreesItsSlotOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        VisitorLog visitorLog = stored(VisitorLogStatus.EXPECTED);
+        casReturns(visitorLog, VisitorLogStatus.EXPECTED, VisitorLogStatus.CHECKED_IN, 0);
+
+        assertThatThrownBy(() -> visitorLogService.checkIn(visitorLog.getId()))
+            .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(occupancyService.headcount(location.getId())).isZero();
+        verify(visitorService, never()).setVisitorStatus(any(), any());
+    }
+
+    @Test
+    void transitionFromTheWrongStatusIsRejectedWithoutAnUpdate() {
+        VisitorLog visitorLog = stored(VisitorLogStatus.CHECKED_OUT);
+
+        assertThatThrownBy(() -> visitorLogService.checkIn(visitorLog.getId()))
+            .hasMessage("Visitor log cannot move from CHECKED_OUT to CHECKED_IN");
+        verify(visitorLogRepository, never()).compareAndSetStatus(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void bulkCheckInReportsEachFailureAndUndoesTheSlotOfALostUpdate() {
+        TransactionSynchronizationManager.initSynchronization();
+        VisitorLog applied = log(VisitorLogStatus.EXPECTED);
+        VisitorLog conflicting = log(VisitorLogStatus.EXPECTED);
+        VisitorLog checkedOut = log(VisitorLogStatus.CHECKED_OUT);
+        UUID missing = UUID.randomUUID();
+        when(visitorLogRepository.findWithGraphByIdIn(anyCollection()))
+            .thenReturn(List.of(applied, conflicting, checkedOut));
+        casReturns(applied, VisitorLogStatus.EXPECTED, VisitorLogStatus.CHECKED_IN, 1);
+        casReturns(conflicting, VisitorLogStatus.EXPECTED, VisitorLogStatus.CHECKED_IN, 0);
+
+        List<BulkTransitionResult> results = visitorLogService.checkInAll(
+            List.of(applied.getId(), conflicting.getId(), checkedOut.getId(), missing));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(results).containsExactly(
+            BulkTransitionResult.succeeded(applied.getId(), VisitorLogStatus.CHECKED_IN),
+            BulkTransitionResult.failed(conflicting.getId(), "Visitor log was changed by another request"),
+            BulkTransitionResult.failed(checkedOut.getId(), "Visitor log cannot move from CHECKED_OUT to CHECKED_IN"),
+            BulkTransitionResult.failed(missing, "Visitor log not found"));
+        assertThat(occupancyService.headcount(location.getId())).isEqualTo(1);
+        assertThat(occupancyService.getRoster(location.getId()))
+            .extracting(VisitorLogView::id)
+            .containsExactly(applied.getId());
+        verify(visitorService).updateVisitorStatuses(
+            Set.of(applied.getVisitor().getId()), VisitorStatus.CHECKED_IN);
+    }
+
+    @Test
+    void bulkCheckInStopsAtCapacityWithoutTouchingTheRest() {
+        Location small = location(1);
+        VisitorLog first = log(VisitorLogStatus.EXPECTED, small);
+        VisitorLog second = log(VisitorLogStatus.EXPECTED, small);
+        when(visitorLogRepository.findWithGraphByIdIn(anyCollection())).thenReturn(List.of(first, second));
+        casReturns(first, VisitorLogStatus.EXPECTED, VisitorLogStatus.CHECKED_IN, 1);
+
+        List<BulkTransitionResult> results = visitorLogService.checkInAll(List.of(first.getId(), second.getId()));
+
+        assertThat(results).extracting(BulkTransitionResult::success).containsExactly(true, false);
+        assertThat(results.get(1).error()).isEqualTo("Location is at capacity");
+        verify(visitorLogRepository, times(1)).compareAndSetStatus(any(), any(), any(), any(), any(), any());
+    }
+
+    private void casReturns(VisitorLog visitorLog, VisitorLogStatus from, VisitorLogStatus to, int updated) {
+        when(visitorLogRepository.compareAndSetStatus(eq(visitorLog.getId()), eq(from), eq(to), any(), any(), any()))
+            .thenReturn(updated);
+    }
+
+    private VisitorLog stored(VisitorLogStatus status) {
+        VisitorLog visitorLog = log(status);
+        when(visitorLogRepository.findWithGraphById(visitorLog.getId())).thenReturn(Optional.of(visitorLog));
+        return visitorLog;
+    }
+
+    private VisitorLog log(VisitorLogStatus status) {
+        return log(status, location);
+    }
+
+    private static VisitorLog log(VisitorLogStatus status, Location location) {
+        User host = new User();
+        host.setId(UUID.randomUUID());
+        Visitor visitor = new Visitor();
+        visitor.setId(UUID.randomUUID());
+        visitor.setHost(host);
+        VisitorLog visitorLog = new VisitorLog();
+        visitorLog.setId(UUID.randomUUID());
+        visitorLog.setVisitor(visitor);
+        visitorLog.setHost(host);
+        visitorLog.setLocation(location);
+        visitorLog.setCheckInTime(Instant.now());
+        visitorLog.setStatus(status);
+        visitorLog.setVersion(0L);
+        return visitorLog;
+    }
+
+    private static Location location(int capacity) {
+        Location location = new Location();
+        location.setId(UUID.randomUUID());
+        location.setName("Lobby");
+        location.setCapacity(capacity);
+        return location;
+    }
+
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.vms.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+    @Test
+    void roundTripsTimeToTheNanosecondAndId() {
+        KeysetCursor cursor = new KeysetCursor(Instant.parse("2026-10-18T09:15:30.123456789Z"), UUID.randomUUID());
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsTimesBeforeTheEpoch() {
+        KeysetCursor cursor = new KeysetCursor(Instant.ofEpochSecond(-2, 500_000_000), UUID.randomUUID());
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripsAnIdOnlyCursor() {
+        KeysetCursor cursor = KeysetCursor.of(UUID.randomUUID());
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodesAsUrlSafeBase64WithoutPadding() {
+        String token = new KeysetCursor(Instant.now(), UUID.randomUUID()).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsTokensItDidNotIssue() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("12345".getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().encodeToString("1.0|not-a-uuid".getBytes(StandardCharsets.UTF_8));
+
+        for (String token : new String[]{"***", noSeparator, badId}) {
+            assertThatThrownBy(() -> KeysetCursor.decode(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.vms.bench;
+
+import com.example.vms.model.*;
+import com.example.vms.security.JwtTokenProvider;
+import com.example.vms.security.UserPrincipal;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Detached entities and hand-wired components shared by the benchmarks.
+ */
+public final class BenchmarkFixtures {
+    public static final String JWT_SECRET = "benchmark-only-hmac-secret-of-at-least-256-bits";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * A token provider configured the way Spring would, without a context. A
+     * cache size of zero disables the verified-token cache.
+     */
+    public static JwtTokenProvider tokenProvider(long verifiedCacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", Duration.ofHours(24).toMillis());
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", verifiedCacheSize);
+        provider.init();
+        return provider;
+    }
+
+    public static User user(UserRole role) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName("Bench " + role.name().toLowerCase());
+        user.setEmail(role.name().toLowerCase() + "-" + UUID.randomUUID() + "@bench.example.com");
+        user.setPassword("password");
+        user.setRole(role);
+        user.setDepartment("Engineering");
+        user.setCreatedAt(Instant.now());
+        user.setUpdatedAt(Instant.now());
+        return user;
+    }
+
+    public static Authentication authentication(User user) {
+        UserPrincipal principal = UserPrincipal.create(user);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    public static Location location() {
+        Location location = new Location();
+        location.setId(UUID.randomUUID());
+        location.setName("Headquarters");
+        location.setAddress("1 Main Street");
+        location.setCity("Springfield");
+        location.setState("IL");
+        location.setZipCode("62701");
+        location.setCountry("USA");
+        location.setCapacity(Integer.MAX_VALUE);
+        location.setCreatedAt(Instant.now());
+        location.setUpdatedAt(Instant.now());
+        return location;
+    }
+
+    public static Visitor visitor(User host, int n) {
+        Visitor visitor = new Visitor();
+        visitor.setId(UUID.randomUUID());
+        visitor.setName("Visitor " + n);
+        visitor.setEmail("visitor" + n + "@example.com");
+        visitor.setPhone("+1-555-0100");
+        visitor.setCompany("Acme Corp");
+        visitor.setPurpose("Meeting");
+        visitor.setHost(host);
+        visitor.setStatus(VisitorStatus.CHECKED_IN);
+        visitor.setVersion(0L);
+        visitor.setCreatedAt(Instant.now());
+        visitor.setUpdatedAt(Instant.now());
+        return visitor;
+    }
+
+    /**
+     * {@code size} checked-in logs sharing one host and location, each with its
+     * own visitor, as a list endpoint would return them.
+     */
+    public static List<VisitorLog> visitorLogs(int size) {
+        User host = user(UserRole.HOST);
+        Location location = location();
+        List<VisitorLog> logs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            VisitorLog log = new VisitorLog();
+            log.setId(UUID.randomUUID());
+            log.setVisitor(visitor(host, i));
+            log.setHost(host);
+            log.setLocation(location);
+            log.setCheckInTime(Instant.now());
+            log.setStatus(VisitorLogStatus.CHECKED_IN);
+            log.setVersion(1L);
+            log.setCreatedAt(Instant.now());
+            log.setUpdatedAt(Instant.now());
+            logs.add(log);
+        }
+        return logs;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.vms.bench;
+
+import com.example.vms.VmsApplication;
+import com.example.vms.model.*;
+import com.example.vms.service.LocationService;
+import com.example.vms.service.UserService;
+import com.example.vms.service.VisitorLogService;
+import com.example.vms.service.VisitorService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link VisitorLogService#checkIn} end to end through the application context
+ * on H2 (see application-bench.yml): graph load, compare-and-set update,
+ * occupancy reservation, visitor status, rollups and event publication.
+ * Each iteration checks in logs from a pool of EXPECTED logs created before
+ * it starts, so creating them is not part of the measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CheckInBenchmark {
+    // Must exceed the check-ins one iteration can do
+    @Param({"20000"})
+    public int poolSize;
+
+    private ConfigurableApplicationContext context;
+    private VisitorLogService visitorLogService;
+    private Visitor visitor;
+    private Location location;
+    private final Deque<UUID> expectedLogIds = new ArrayDeque<>();
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(VmsApplication.class).profiles("bench").run();
+        visitorLogService = context.getBean(VisitorLogService.class);
+
+        User host = BenchmarkFixtures.user(UserRole.HOST);
+        host.setId(null);
+        host = context.getBean(UserService.class).createUser(host);
+
+        location = BenchmarkFixtures.location();
+        location.setId(null);
+        location = context.getBean(LocationService.class).createLocation(location);
+
+        visitor = BenchmarkFixtures.visitor(host, 0);
+        visitor.setId(null);
+        visitor.setVersion(null);
+        // Persisting assigns the id to this instance, which is all the logs need
+        context.getBean(VisitorService.class).createVisitor(visitor);
+    }
+
+    @Setup(Level.Iteration)
+    public void createExpectedLogs() {
+        expectedLogIds.clear();
+        for (int i = 0; i < poolSize; i++) {
+            VisitorLog log = new VisitorLog();
+            log.setVisitor(visitor);
+            log.setLocation(location);
+            // Expected arrival; checkIn() overwrites it with the actual time
+            log.setCheckInTime(Instant.now());
+            expectedLogIds.add(visitorLogService.createVisitorLog(log).getId());
+        }
+    }
+
+    @Benchmark
+    public VisitorLog checkIn() {
+        UUID id = expectedLogIds.poll();
+        if (id == null) {
+            throw new IllegalStateException("Pool of " + poolSize + " expected logs exhausted; raise -p poolSize");
+        }
+        return visitorLogService.checkIn(id);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+}
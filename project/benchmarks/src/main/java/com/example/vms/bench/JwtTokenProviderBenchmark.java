@@ -0,0 +1,49 @@
+package com.example.vms.bench;
+
+import com.example.vms.model.UserRole;
+import com.example.vms.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and validation. {@code validateCached} is the steady state of a
+ * client reusing its token; {@code validateUncached} pays for signature
+ * verification and claims parsing on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider uncachedProvider;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingProvider = BenchmarkFixtures.tokenProvider(10_000);
+        uncachedProvider = BenchmarkFixtures.tokenProvider(0);
+        authentication = BenchmarkFixtures.authentication(BenchmarkFixtures.user(UserRole.SECURITY));
+        token = cachingProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validateCached() {
+        return cachingProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateUncached() {
+        return uncachedProvider.validateToken(token);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.vms.bench;
+
+import com.example.vms.util.UuidBytes;
+import com.example.vms.util.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into a visitor_logs-shaped table keyed by BINARY(16),
+ * with random v4 ids against time-ordered v7 ids. The table is preloaded so
+ * the primary key index is larger than a few pages. Runs on in-memory H2 by
+ * default; for InnoDB numbers point it at a scratch MySQL schema with
+ * {@code -p jdbcUrl=jdbc:mysql://localhost:3306/vms_bench?rewriteBatchedStatements=true -p user=root -p password=...}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UuidInsertBenchmark {
+    private static final int BATCH_SIZE = 1000;
+    private static final String TABLE = "uuid_insert_bench";
+
+    @Param({"V4", "V7"})
+    public String scheme;
+
+    @Param({"jdbc:h2:mem:uuid_insert;MODE=MySQL;DB_CLOSE_DELAY=-1"})
+    public String jdbcUrl;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    @Param({"200000"})
+    public int preload;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void createTable() throws SQLException {
+        ids = "V7".equals(scheme) ? UuidV7::generate : UUID::randomUUID;
+        connection = DriverManager.getConnection(jdbcUrl, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + TABLE);
+            statement.execute("create table " + TABLE + " (" +
+                "id BINARY(16) NOT NULL, " +
+                "visitor_id BINARY(16) NOT NULL, " +
+                "check_in_time TIMESTAMP(6) NOT NULL, " +
+                "status VARCHAR(16) NOT NULL, " +
+                "PRIMARY KEY (id))");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(
+            "insert into " + TABLE + " (id, visitor_id, check_in_time, status) values (?, ?, ?, ?)");
+        for (int loaded = 0; loaded < preload; loaded += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void dropTable() throws SQLException {
+        insert.close();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table " + TABLE);
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    /**
+     * One transaction of {@value #BATCH_SIZE} rows; scores are rows per second.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        Timestamp now = Timestamp.from(Instant.now());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setBytes(1, UuidBytes.toBytes(ids.get()));
+            insert.setBytes(2, UuidBytes.toBytes(ids.get()));
+            insert.setTimestamp(3, now);
+            insert.setString(4, "EXPECTED");
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+}
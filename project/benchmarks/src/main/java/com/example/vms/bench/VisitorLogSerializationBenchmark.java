@@ -0,0 +1,48 @@
+package com.example.vms.bench;
+
+import com.example.vms.dto.VisitorLogView;
+import com.example.vms.model.VisitorLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization of visitor log lists: the full entity graph against
+ * the flat view the endpoints return.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VisitorLogSerializationBenchmark {
+
+    @Param({"1", "50", "500"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<VisitorLog> logs;
+    private List<VisitorLogView> views;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC message converter
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        logs = BenchmarkFixtures.visitorLogs(size);
+        views = logs.stream().map(VisitorLogView::from).toList();
+    }
+
+    @Benchmark
+    public byte[] entityGraph() throws Exception {
+        return objectMapper.writeValueAsBytes(logs);
+    }
+
+    @Benchmark
+    public byte[] views() throws Exception {
+        return objectMapper.writeValueAsBytes(views);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.vms.bench;
+
+import com.example.vms.model.Visitor;
+import com.example.vms.search.SearchMatch;
+import com.example.vms.search.VisitorSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Visitor search latency over a trigram index of synthetic visitors built
+ * from common first names, surnames and company words, for an exact name, a
+ * name with a typo, an email prefix, a company and a partial phone number.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class VisitorSearchBenchmark {
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Charles", "Karen",
+        "Christopher", "Lisa", "Daniel", "Nancy", "Matthew", "Betty", "Anthony", "Margaret", "Mark", "Sandra",
+        "Wei", "Priya", "Hiroshi", "Fatima", "Olga", "Mateo", "Aisha", "Lars", "Chiara", "Kwame"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+        "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+        "Nakamura", "Okafor", "Kowalski", "Novak", "Rossi", "Haddad", "Singh", "Chen", "Ivanova", "Lindqvist"
+    };
+    private static final String[] COMPANY_WORDS = {
+        "Acme", "Globex", "Initech", "Umbrella", "Stark", "Wayne", "Hooli", "Vandelay", "Wonka", "Tyrell",
+        "Cyberdyne", "Soylent", "Aperture", "Gringotts", "Oscorp", "Massive", "Dynamic", "Pied", "Piper", "Sterling"
+    };
+    private static final String[] COMPANY_SUFFIXES = {"Corp", "Industries", "Labs", "Systems", "Holdings", "LLC"};
+
+    @Param({"1000000"})
+    public int visitors;
+
+    @Param({"0.5"})
+    public double minSimilarity;
+
+    @Param({"exactName", "typoName", "emailPrefix", "company", "phoneDigits"})
+    public String query;
+
+    private VisitorSearchIndex index;
+    private String text;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        // The repository is only used by rebuild(), which the benchmark never calls
+        index = new VisitorSearchIndex(null, minSimilarity, 0.3);
+        Random random = new Random(42);
+        for (int i = 0; i < visitors; i++) {
+            index.index(visitor(random, i));
+        }
+        text = switch (query) {
+            case "exactName" -> "Priya Kowalski";
+            case "typoName" -> "Priya Kowalsky";
+            case "emailPrefix" -> "priya.kowalski";
+            case "company" -> "Vandelay Labs";
+            case "phoneDigits" -> "5550123";
+            default -> throw new IllegalArgumentException("Unknown query " + query);
+        };
+    }
+
+    @Benchmark
+    public List<SearchMatch<UUID>> search() {
+        return index.search(text);
+    }
+
+    private static Visitor visitor(Random random, int n) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        Visitor visitor = new Visitor();
+        visitor.setId(new UUID(random.nextLong(), n));
+        visitor.setName(first + " " + last);
+        visitor.setEmail(first.toLowerCase() + "." + last.toLowerCase() + n + "@example.com");
+        visitor.setPhone(String.format("+1-%03d-%03d-%04d", random.nextInt(1000), random.nextInt(1000),
+            random.nextInt(10000)));
+        visitor.setCompany(COMPANY_WORDS[random.nextInt(COMPANY_WORDS.length)] + " "
+            + COMPANY_SUFFIXES[random.nextInt(COMPANY_SUFFIXES.length)]);
+        return visitor;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.vms.security;
+
+import com.example.vms.bench.BenchmarkFixtures;
+import com.example.vms.model.User;
+import com.example.vms.model.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass of the JWT filter with a no-op chain and a stubbed user lookup.
+ * Lives in the security package to reach the protected doFilterInternal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean verifiedCache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkFixtures.user(UserRole.SECURITY);
+        JwtTokenProvider tokenProvider = BenchmarkFixtures.tokenProvider(verifiedCache ? 10_000 : 0);
+
+        CustomUserDetailsService userDetailsService = Mockito.mock(CustomUserDetailsService.class);
+        Mockito.when(userDetailsService.loadUserById(Mockito.any(UUID.class))).thenReturn(UserPrincipal.create(user));
+
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, new SimpleMeterRegistry());
+        request = new MockHttpServletRequest("GET", "/api/visitor-logs");
+        request.addHeader("Authorization", "Bearer " + tokenProvider.generateToken(BenchmarkFixtures.authentication(user)));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        filter.doFilterInternal(request, response, chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,44 @@
+// k6 script comparing platform vs virtual thread throughput.
+//
+//   SPRING_PROFILES_ACTIVE=loadtest VMS_VIRTUAL_THREADS=false mvn spring-boot:run
+//   k6 run -e TOKEN=<admin jwt> -e LOG_IDS=<comma separated EXPECTED log ids> loadtest/checkin-and-list.js
+//
+// then restart with VMS_VIRTUAL_THREADS=true and compare http_reqs and the p99 of
+// http_req_duration for the "list" and "check-in" tags.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080/api';
+const HEADERS = { headers: { Authorization: `Bearer ${__ENV.TOKEN}` } };
+const LOG_IDS = (__ENV.LOG_IDS || '').split(',').filter(Boolean);
+
+export const options = {
+  scenarios: {
+    list: {
+      executor: 'constant-vus',
+      vus: 400,
+      duration: '2m',
+      exec: 'list',
+    },
+    checkIn: {
+      executor: 'shared-iterations',
+      vus: 100,
+      iterations: LOG_IDS.length || 1,
+      exec: 'checkIn',
+    },
+  },
+};
+
+export function list() {
+  const res = http.get(`${BASE_URL}/visitor-logs?limit=50`, { ...HEADERS, tags: { name: 'list' } });
+  check(res, { 'list ok': (r) => r.status === 200 });
+}
+
+export function checkIn() {
+  const id = LOG_IDS[__ITER % Math.max(LOG_IDS.length, 1)];
+  if (!id) {
+    return;
+  }
+  const res = http.post(`${BASE_URL}/visitor-logs/${id}/check-in`, null, { ...HEADERS, tags: { name: 'check-in' } });
+  check(res, { 'check-in ok': (r) => r.status === 200 });
+}
@@ -14,8 +14,8 @@ export const api = {
     return response.data;
   },
 
-  async getAllUsers() {
-    const response = await axios.get(`${API_BASE_URL}/users`);
+  async getAllUsers(cursor?: string) {
+    const response = await axios.get(`${API_BASE_URL}/users`, { params: { cursor } });
     return response.data;
   },
 
@@ -46,8 +46,8 @@ export const api = {
     return response.data;
   },
 
-  async getVisitorLogs() {
-    const response = await axios.get(`${API_BASE_URL}/visitor-logs`);
+  async getVisitorLogs(cursor?: string) {
+    const response = await axios.get(`${API_BASE_URL}/visitor-logs`, { params: { cursor } });
     return response.data;
   },
 
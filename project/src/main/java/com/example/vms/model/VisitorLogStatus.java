@@ -1,8 +0,0 @@
-package com.example.vms.model;
-
-public enum VisitorLogStatus {
-    EXPECTED,
-    CHECKED_IN,
-    CHECKED_OUT,
-    CANCELED
-}
\ No newline at end of file
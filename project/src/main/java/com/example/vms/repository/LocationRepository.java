@@ -1,11 +0,0 @@
-package com.example.vms.repository;
-
-import com.example.vms.model.Location;
-import org.springframework.data.jpa.repository.JpaRepository;
-
-import java.util.List;
-import java.util.UUID;
-
-public interface LocationRepository extends JpaRepository<Location, UUID> {
-    List<Location> findByActiveTrue();
-}
\ No newline at end of file
@@ -1,52 +0,0 @@
-package com.example.vms.service;
-
-import com.example.vms.model.User;
-import com.example.vms.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.List;
-import java.util.UUID;
-
-@Service
-@RequiredArgsConstructor
-public class UserService {
-    private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-
-    @Transactional(readOnly = true)
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
-    }
-
-    @Transactional(readOnly = true)
-    public User getUserById(UUID id) {
-        return userRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-    }
-
-    @Transactional
-    public User createUser(User user) {
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new RuntimeException("Email already exists");
-        }
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
-    }
-
-    @Transactional
-    public User updateUser(UUID id, User userDetails) {
-        User user = getUserById(id);
-        user.setName(userDetails.getName());
-        user.setDepartment(userDetails.getDepartment());
-        user.setAvatarUrl(userDetails.getAvatarUrl());
-        return userRepository.save(user);
-    }
-
-    @Transactional
-    public void deleteUser(UUID id) {
-        userRepository.deleteById(id);
-    }
-}
\ No newline at end of file